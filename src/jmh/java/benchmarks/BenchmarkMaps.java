@@ -0,0 +1,67 @@
+package benchmarks;
+
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic maps and queries shared by the benchmarks, so that every run
+ * of a given parameter combination measures exactly the same work.
+ */
+public class BenchmarkMaps {
+
+    public static final long SEED = 42L;
+
+    private static final double WATER_SHARE = 0.1;
+    private static final int MAX_ATTEMPTS = 1_000_000;
+
+    public static GameMap create(int size, double obstacleDensity, long seed) {
+        GameMap map = new GameMap(size, size);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                double roll = random.nextDouble();
+                if (roll < obstacleDensity) {
+                    map.setType(x, y, MapElementType.ARBRE);
+                } else if (roll < obstacleDensity + WATER_SHARE) {
+                    map.setType(x, y, MapElementType.EAU);
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Picks connected start/goal pairs whose Manhattan distance is the given
+     * fraction of the map side.
+     */
+    public static Coordinate[][] queries(GameMap map, double distance, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int side = Math.min(map.getWidth(), map.getHeight());
+        int length = Math.max(1, (int) Math.round(distance * (side - 1)));
+
+        Coordinate[][] queries = new Coordinate[count][];
+        int found = 0;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && found < count; attempt++) {
+            int startX = random.nextInt(map.getWidth());
+            int startY = random.nextInt(map.getHeight());
+            int dx = random.nextInt(-length, length + 1);
+            int dy = (length - Math.abs(dx)) * (random.nextBoolean() ? 1 : -1);
+            int goalX = startX + dx;
+            int goalY = startY + dy;
+
+            if (!map.isWalkable(startX, startY) || !map.isWalkable(goalX, goalY)) continue;
+            Coordinate start = new Coordinate(startX, startY);
+            Coordinate goal = new Coordinate(goalX, goalY);
+            if (!map.getConnectivity().areConnected(start, goal)) continue;
+
+            queries[found++] = new Coordinate[]{start, goal};
+        }
+        if (found < count) {
+            throw new IllegalStateException("Only " + found + " queries of length " + length + " found");
+        }
+        return queries;
+    }
+}
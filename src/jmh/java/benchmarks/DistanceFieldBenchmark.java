@@ -0,0 +1,86 @@
+package benchmarks;
+
+import application.algorithms.BitParallelBfs;
+import application.algorithms.DistanceField;
+import application.algorithms.ReachableSet;
+import domain.Coordinate;
+import domain.GameMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * One-to-all step counts from a fixed walkable tile: a plain queue-based BFS, one
+ * tile at a time, against the word-level searches of {@link BitParallelBfs}.
+ */
+@State(Scope.Thread)
+public class DistanceFieldBenchmark {
+
+    @Param({"250", "1000", "4000"})
+    private int size;
+
+    @Param({"0.1", "0.3"})
+    private double density;
+
+    private GameMap map;
+    private Coordinate source;
+
+    @Setup
+    public void setUp() {
+        map = BenchmarkMaps.create(size, density, BenchmarkMaps.SEED);
+        source = BenchmarkMaps.queries(map, 0, 1, BenchmarkMaps.SEED)[0][0];
+        map.getWalkability();
+    }
+
+    @Benchmark
+    public int[] queueBfs() {
+        int width = map.getWidth();
+        int height = map.getHeight();
+        int[] steps = new int[map.getTileCount()];
+        Arrays.fill(steps, DistanceField.UNREACHABLE);
+        int[] queue = new int[map.getTileCount()];
+        int head = 0;
+        int tail = 0;
+        int start = map.indexOf(source.x(), source.y());
+        steps[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = tile % width;
+            int y = tile / width;
+            int next = steps[tile] + 1;
+            if (y > 0 && steps[tile - width] < 0 && map.getTraversalCost(tile - width) != 0) {
+                steps[tile - width] = next;
+                queue[tail++] = tile - width;
+            }
+            if (y < height - 1 && steps[tile + width] < 0 && map.getTraversalCost(tile + width) != 0) {
+                steps[tile + width] = next;
+                queue[tail++] = tile + width;
+            }
+            if (x > 0 && steps[tile - 1] < 0 && map.getTraversalCost(tile - 1) != 0) {
+                steps[tile - 1] = next;
+                queue[tail++] = tile - 1;
+            }
+            if (x < width - 1 && steps[tile + 1] < 0 && map.getTraversalCost(tile + 1) != 0) {
+                steps[tile + 1] = next;
+                queue[tail++] = tile + 1;
+            }
+        }
+        return steps;
+    }
+
+    @Benchmark
+    public DistanceField bitParallelDistances() {
+        return BitParallelBfs.distances(map, source);
+    }
+
+    @Benchmark
+    public ReachableSet bitParallelReachable() {
+        return BitParallelBfs.reachable(map, source);
+    }
+}
@@ -0,0 +1,35 @@
+package benchmarks;
+
+import domain.GameMap;
+import infrastructure.GeoJsonExporter;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Capped at 1000x1000: the in-memory JSON tree of a 4000x4000 map does not fit a default heap.
+@State(Scope.Thread)
+public class GeoJsonExportBenchmark {
+
+    @Param({"50", "250", "1000"})
+    private int size;
+
+    private GameMap map;
+
+    @Setup
+    public void setUp() {
+        map = BenchmarkMaps.create(size, 0.1, BenchmarkMaps.SEED);
+    }
+
+    @Benchmark
+    public JSONObject export() {
+        return GeoJsonExporter.export(map);
+    }
+
+    @Benchmark
+    public String exportToString() {
+        return GeoJsonExporter.export(map).toString(2);
+    }
+}
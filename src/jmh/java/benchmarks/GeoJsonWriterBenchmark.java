@@ -0,0 +1,66 @@
+package benchmarks;
+
+import application.components.MapGenerator;
+import application.enums.TerrainStyle;
+import domain.GameMap;
+import infrastructure.GeoJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Writes into a channel that only counts bytes, so the disk stays out of the measurement.
+@State(Scope.Thread)
+public class GeoJsonWriterBenchmark {
+
+    @Param({"50", "250", "1000", "4000"})
+    private int size;
+
+    @Param({"NONE", "MULTI_POINT", "POLYGON"})
+    private GeoJsonWriter.Merge merge;
+
+    @Param({"false", "true"})
+    private boolean pretty;
+
+    private GameMap map;
+    private final CountingChannel channel = new CountingChannel();
+
+    @Setup
+    public void setUp() {
+        map = new GameMap(size, size);
+        MapGenerator.generate(map, BenchmarkMaps.SEED, TerrainStyle.NOISE);
+    }
+
+    @Benchmark
+    public long write() throws IOException {
+        channel.written = 0;
+        GeoJsonWriter.write(map, channel, pretty, merge);
+        return channel.written;
+    }
+
+    private static class CountingChannel implements WritableByteChannel {
+        private long written;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int bytes = source.remaining();
+            source.position(source.limit());
+            written += bytes;
+            return bytes;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package benchmarks;
+
+import application.components.MapGenerator;
+import application.enums.TerrainStyle;
+import domain.GameMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class MapGenerationBenchmark {
+
+    @Param({"50", "250", "1000", "4000"})
+    private int size;
+
+    @Param({"RANDOM", "NOISE"})
+    private TerrainStyle style;
+
+    @Param({"1", "8"})
+    private int parallelism;
+
+    private GameMap map;
+
+    @Setup
+    public void setUp() {
+        map = new GameMap(size, size);
+    }
+
+    @Benchmark
+    public GameMap generate() {
+        MapGenerator.generate(map, BenchmarkMaps.SEED, style, parallelism);
+        return map;
+    }
+}
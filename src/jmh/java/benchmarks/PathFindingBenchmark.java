@@ -0,0 +1,60 @@
+package benchmarks;
+
+import application.algorithms.AStarPathFinder;
+import application.algorithms.DijkstraPathFinder;
+import application.interfaces.PathFindingUseCase;
+import domain.Coordinate;
+import domain.GameMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class PathFindingBenchmark {
+
+    private static final int QUERY_COUNT = 16;
+
+    @Param({"50", "250", "1000", "4000"})
+    private int size;
+
+    @Param({"0.1", "0.3"})
+    private double density;
+
+    @Param({"0.1", "0.5", "1.0"})
+    private double distance;
+
+    private final PathFindingUseCase dijkstra = new DijkstraPathFinder();
+    private final PathFindingUseCase astar = new AStarPathFinder();
+
+    private GameMap map;
+    private Coordinate[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        map = BenchmarkMaps.create(size, density, BenchmarkMaps.SEED);
+        queries = BenchmarkMaps.queries(map, distance, QUERY_COUNT, BenchmarkMaps.SEED);
+    }
+
+    @Benchmark
+    public List<Coordinate> dijkstra() {
+        Coordinate[] query = nextQuery();
+        return dijkstra.execute(map, query[0], query[1]);
+    }
+
+    @Benchmark
+    public List<Coordinate> astar() {
+        Coordinate[] query = nextQuery();
+        return astar.execute(map, query[0], query[1]);
+    }
+
+    private Coordinate[] nextQuery() {
+        Coordinate[] query = queries[next];
+        next = (next + 1) % queries.length;
+        return query;
+    }
+}
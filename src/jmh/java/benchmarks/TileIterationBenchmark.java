@@ -0,0 +1,65 @@
+package benchmarks;
+
+import domain.GameMap;
+import domain.MapElementType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The loop of MapRenderer.render without the JavaFX canvas: resolve the image
+ * of every tile and compute where it would be drawn.
+ */
+@State(Scope.Thread)
+public class TileIterationBenchmark {
+
+    private static final int TILE_SIZE = 16;
+
+    @Param({"50", "250", "1000", "4000"})
+    private int size;
+
+    private GameMap map;
+    private final Map<MapElementType, Object> tileImages = new EnumMap<>(MapElementType.class);
+    private final Object[] imagesByCode = new Object[MapElementType.values().length];
+
+    @Setup
+    public void setUp() {
+        map = BenchmarkMaps.create(size, 0.1, BenchmarkMaps.SEED);
+        for (MapElementType type : MapElementType.values()) {
+            Object image = new Object();
+            tileImages.put(type, image);
+            imagesByCode[type.ordinal()] = image;
+        }
+    }
+
+    @Benchmark
+    public void byCoordinate(Blackhole blackhole) {
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                Object image = tileImages.get(map.getType(x, y));
+                if (image != null) {
+                    blackhole.consume(image);
+                    blackhole.consume(x * TILE_SIZE + y * TILE_SIZE);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void byIndex(Blackhole blackhole) {
+        int width = map.getWidth();
+        for (int index = 0; index < map.getTileCount(); index++) {
+            Object image = imagesByCode[map.getTypeCode(index)];
+            if (image != null) {
+                blackhole.consume(image);
+                blackhole.consume((index % width) * TILE_SIZE + (index / width) * TILE_SIZE);
+            }
+        }
+    }
+}
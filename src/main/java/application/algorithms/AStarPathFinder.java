@@ -2,66 +2,66 @@ package application.algorithms;
 
 import domain.Coordinate;
 import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
 import domain.GameMap;
 
-import java.util.*;
+import java.util.List;
 
 public class AStarPathFinder implements PathFindingUseCase {
 
-    private static final List<Coordinate> DIRECTIONS = List.of(
-            new Coordinate(0, -1),
-            new Coordinate(0, 1),
-            new Coordinate(-1, 0),
-            new Coordinate(1, 0)
-    );
-
     @Override
-    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal) {
-        Map<Coordinate, Integer> gScore = new HashMap<>();
-        Map<Coordinate, Integer> fScore = new HashMap<>();
-        Map<Coordinate, Coordinate> cameFrom = new HashMap<>();
-        PriorityQueue<Coordinate> openSet = new PriorityQueue<>(Comparator.comparingInt(fScore::get));
+    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        int w = map.getWidth();
+        int h = map.getHeight();
+        int source = map.indexOf(start.x(), start.y());
+        int target = map.indexOf(goal.x(), goal.y());
 
-        gScore.put(start, 0);
-        fScore.put(start, heuristic(start, goal));
-        openSet.add(start);
+        if (!map.getConnectivity().areConnected(source, target)) return null;
 
-        while (!openSet.isEmpty()) {
-            Coordinate current = openSet.poll();
-            if (current.equals(goal)) return reconstructPath(cameFrom, goal);
+        int unitCost = map.getMinTraversalCost();
 
-            for (Coordinate dir : DIRECTIONS) {
-                Coordinate neighbor = new Coordinate(current.x() + dir.x(), current.y() + dir.y());
-                if (!isValid(map, neighbor, map.getWidth(), map.getHeight())) continue;
+        SearchContext context = SearchContext.acquire(map.getTileCount());
+        IntMinHeap openSet = context.openSet();
 
-                int tentativeG = gScore.getOrDefault(current, Integer.MAX_VALUE) + 1;
-                if (tentativeG < gScore.getOrDefault(neighbor, Integer.MAX_VALUE)) {
-                    cameFrom.put(neighbor, current);
-                    gScore.put(neighbor, tentativeG);
-                    fScore.put(neighbor, tentativeG + heuristic(neighbor, goal));
-                    openSet.add(neighbor);
-                }
+        context.update(source, 0, SearchContext.NO_PARENT);
+        openSet.push(source, heuristic(start.x(), start.y(), goal, unitCost));
+
+        long expanded = 0;
+        while (!openSet.isEmpty()) {
+            int current = openSet.poll();
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
+            if (current == target) {
+                context.report(monitor, expanded, 0);
+                return context.buildPath(map, target);
             }
+
+            int x = current % w;
+            int y = current / w;
+            int currentG = context.distance(current);
+
+            if (y > 0) relax(map, context, current, x, y - 1, currentG, goal, unitCost);
+            if (y < h - 1) relax(map, context, current, x, y + 1, currentG, goal, unitCost);
+            if (x > 0) relax(map, context, current, x - 1, y, currentG, goal, unitCost);
+            if (x < w - 1) relax(map, context, current, x + 1, y, currentG, goal, unitCost);
         }
+        context.report(monitor, expanded, 0);
         return null;
     }
 
-    private int heuristic(Coordinate a, Coordinate b) {
-        return Math.abs(a.x() - b.x()) + Math.abs(a.y() - b.y());
-    }
+    private void relax(GameMap map, SearchContext context, int current, int x, int y, int currentG, Coordinate goal, int unitCost) {
+        int neighbor = map.indexOf(x, y);
+        int cost = map.getTraversalCost(neighbor);
+        if (cost == 0) return;
 
-    private boolean isValid(GameMap map, Coordinate c, int w, int h) {
-        return c.x() >= 0 && c.x() < w && c.y() >= 0 && c.y() < h &&
-                switch (map.getCell(c.x(), c.y()).getType()) {
-                    case HERBE, ARRETE_HORIZONTAL, ARRETE_VERTICAL, NOEUD, START, CHATEAU -> true;
-                    default -> false;
-                };
+        int tentativeG = currentG + cost;
+        if (tentativeG < context.distance(neighbor)) {
+            context.update(neighbor, tentativeG, current);
+            context.openSet().push(neighbor, tentativeG + heuristic(x, y, goal, unitCost));
+        }
     }
 
-    private List<Coordinate> reconstructPath(Map<Coordinate, Coordinate> prev, Coordinate goal) {
-        List<Coordinate> path = new ArrayList<>();
-        for (Coordinate at = goal; at != null; at = prev.get(at)) path.add(at);
-        Collections.reverse(path);
-        return path;
+    // Every step costs at least the cheapest walkable tile present on the map, so this never overestimates.
+    private int heuristic(int x, int y, Coordinate goal, int unitCost) {
+        return unitCost * (Math.abs(x - goal.x()) + Math.abs(y - goal.y()));
     }
 }
@@ -0,0 +1,120 @@
+package application.algorithms;
+
+import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Searches forward from the start and backward from the goal at the same time,
+ * always growing the smaller frontier. The guided variant orders both queues
+ * with the average potential (h_goal - h_start) / 2, which stays consistent in
+ * both directions; keys are kept doubled so they remain integers.
+ */
+public class BidirectionalPathFinder implements PathFindingUseCase {
+
+    private final boolean guided;
+
+    public BidirectionalPathFinder(boolean guided) {
+        this.guided = guided;
+    }
+
+    @Override
+    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        int source = map.indexOf(start.x(), start.y());
+        int target = map.indexOf(goal.x(), goal.y());
+
+        if (!map.getConnectivity().areConnected(source, target)) return null;
+
+        SearchContext forward = SearchContext.acquire(map.getTileCount());
+        SearchContext backward = SearchContext.acquireReverse(map.getTileCount());
+        IntMinHeap forwardOpen = forward.openSet();
+        IntMinHeap backwardOpen = backward.openSet();
+
+        int unitCost = map.getMinTraversalCost();
+
+        forward.update(source, 0, SearchContext.NO_PARENT);
+        forwardOpen.push(source, potential(map, source, start, goal, unitCost));
+        backward.update(target, 0, SearchContext.NO_PARENT);
+        backwardOpen.push(target, -potential(map, target, start, goal, unitCost));
+
+        int best = source == target ? 0 : SearchContext.UNREACHED;
+        int meeting = source == target ? source : SearchContext.NO_PARENT;
+
+        long expanded = 0;
+        while (!forwardOpen.isEmpty() && !backwardOpen.isEmpty()) {
+            if (best != SearchContext.UNREACHED && (long) forwardOpen.peekKey() + backwardOpen.peekKey() >= 2L * best) break;
+
+            boolean expandForward = forwardOpen.size() <= backwardOpen.size();
+            SearchContext current = expandForward ? forward : backward;
+            SearchContext opposite = expandForward ? backward : forward;
+            int sign = expandForward ? 1 : -1;
+
+            int node = current.openSet().poll();
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
+            int x = map.xOf(node);
+            int y = map.yOf(node);
+            int nodeDistance = current.distance(node);
+            int nodeCost = map.getTraversalCost(node);
+
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbor = neighbor(map, node, x, y, direction);
+                if (neighbor < 0) continue;
+                int neighborCost = map.getTraversalCost(neighbor);
+                if (neighborCost == 0) continue;
+
+                // Moving onto a tile costs that tile's cost, so the backward search pays for the tile it leaves.
+                int tentativeDistance = nodeDistance + (expandForward ? neighborCost : nodeCost);
+                if (tentativeDistance < current.distance(neighbor)) {
+                    current.update(neighbor, tentativeDistance, node);
+                    current.openSet().push(neighbor, 2 * tentativeDistance + sign * potential(map, neighbor, start, goal, unitCost));
+                }
+                if (opposite.isReached(neighbor)) {
+                    int total = current.distance(neighbor) + opposite.distance(neighbor);
+                    if (total < best) {
+                        best = total;
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+
+        forward.report(monitor, expanded, 0);
+        backward.report(monitor, 0, 0);
+        return meeting == SearchContext.NO_PARENT ? null : buildPath(map, forward, backward, meeting);
+    }
+
+    private int neighbor(GameMap map, int node, int x, int y, int direction) {
+        return switch (direction) {
+            case 0 -> y > 0 ? node - map.getWidth() : -1;
+            case 1 -> y < map.getHeight() - 1 ? node + map.getWidth() : -1;
+            case 2 -> x > 0 ? node - 1 : -1;
+            default -> x < map.getWidth() - 1 ? node + 1 : -1;
+        };
+    }
+
+    private int potential(GameMap map, int node, Coordinate start, Coordinate goal, int unitCost) {
+        if (!guided) return 0;
+        int x = map.xOf(node);
+        int y = map.yOf(node);
+        int toGoal = Math.abs(x - goal.x()) + Math.abs(y - goal.y());
+        int fromStart = Math.abs(x - start.x()) + Math.abs(y - start.y());
+        return unitCost * (toGoal - fromStart);
+    }
+
+    private List<Coordinate> buildPath(GameMap map, SearchContext forward, SearchContext backward, int meeting) {
+        List<Coordinate> path = new ArrayList<>();
+        for (int at = meeting; at != SearchContext.NO_PARENT; at = forward.parent(at)) {
+            path.add(new Coordinate(map.xOf(at), map.yOf(at)));
+        }
+        Collections.reverse(path);
+        for (int at = backward.parent(meeting); at != SearchContext.NO_PARENT; at = backward.parent(at)) {
+            path.add(new Coordinate(map.xOf(at), map.yOf(at)));
+        }
+        return path;
+    }
+}
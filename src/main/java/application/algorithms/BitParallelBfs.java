@@ -0,0 +1,229 @@
+package application.algorithms;
+
+import domain.Coordinate;
+import domain.GameMap;
+import domain.WalkabilityMask;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search over the {@link WalkabilityMask}, handling 64 tiles per
+ * word operation. Moves are the four orthogonal steps and every step counts
+ * as one, whatever the terrain.
+ * <p>
+ * {@link #distances} grows the frontier one step at a time. It regroups the
+ * mask into 8x8 blocks, since a frontier runs diagonally across the grid and
+ * would touch a single tile of most row words. A block of the next frontier
+ * is the current one shifted by one column and one row each way, plus the
+ * edge bits of the four neighbouring blocks, masked by the walkable tiles not
+ * visited yet. Only the blocks around the frontier are looked at.
+ * <p>
+ * {@link #reachable} does not need the step counts, so it floods a whole
+ * horizontal run in a handful of shifts and sweeps the rows down then up
+ * until nothing changes.
+ */
+public class BitParallelBfs {
+
+    private static final long FIRST_COLUMN = 0x0101010101010101L;
+    private static final long LAST_COLUMN = 0x8080808080808080L;
+
+    public static DistanceField distances(GameMap map, Coordinate source) {
+        int width = map.getWidth();
+        int columns = ((width + 7) >>> 3) + 2;
+        long[] walkable = toBlocks(map, columns);
+        int[] steps = new int[map.getTileCount()];
+        Arrays.fill(steps, DistanceField.UNREACHABLE);
+
+        int sourceBlock = ((source.y() >>> 3) + 1) * columns + (source.x() >>> 3) + 1;
+        long sourceBit = 1L << ((source.y() & 7) << 3 | (source.x() & 7));
+        if ((walkable[sourceBlock] & sourceBit) == 0) return new DistanceField(steps, width, 0, 0);
+
+        long[] visited = new long[walkable.length];
+        long[] frontier = new long[walkable.length];
+        long[] next = new long[walkable.length];
+        int[] active = new int[16];
+        int[] nextActive = new int[16];
+        int[] candidates = new int[16];
+        int[] queuedAt = new int[walkable.length];
+        frontier[sourceBlock] = sourceBit;
+        visited[sourceBlock] = sourceBit;
+        active[0] = sourceBlock;
+        int activeCount = 1;
+        steps[map.indexOf(source.x(), source.y())] = 0;
+        int reached = 1;
+        int level = 0;
+
+        // Only blocks holding a frontier tile, and their four neighbours, can gain tiles.
+        while (activeCount > 0) {
+            level++;
+            if (candidates.length < activeCount * 5) candidates = new int[activeCount * 10];
+            int candidateCount = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int block = active[a];
+                candidateCount = queue(candidates, candidateCount, queuedAt, block, level);
+                candidateCount = queue(candidates, candidateCount, queuedAt, block - 1, level);
+                candidateCount = queue(candidates, candidateCount, queuedAt, block + 1, level);
+                candidateCount = queue(candidates, candidateCount, queuedAt, block - columns, level);
+                candidateCount = queue(candidates, candidateCount, queuedAt, block + columns, level);
+            }
+
+            int nextCount = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int block = candidates[c];
+                // Border blocks are never open, so the neighbours read below always exist.
+                long open = walkable[block] & ~visited[block];
+                if (open == 0) continue;
+
+                long current = frontier[block];
+                long grown = (current << 1 & ~FIRST_COLUMN) | (current >>> 1 & ~LAST_COLUMN) | current << 8 | current >>> 8
+                        | (frontier[block - 1] >>> 7 & FIRST_COLUMN) | (frontier[block + 1] << 7 & LAST_COLUMN)
+                        | frontier[block - columns] >>> 56 | frontier[block + columns] << 56;
+                long added = grown & open;
+                if (added == 0) continue;
+
+                next[block] = added;
+                visited[block] |= added;
+                reached += Long.bitCount(added);
+                if (nextCount == nextActive.length) nextActive = Arrays.copyOf(nextActive, nextCount * 2);
+                nextActive[nextCount++] = block;
+
+                int blockRow = block / columns;
+                int base = ((blockRow - 1) << 3) * width + ((block - blockRow * columns - 1) << 3);
+                do {
+                    int bit = Long.numberOfTrailingZeros(added);
+                    steps[base + (bit >>> 3) * width + (bit & 7)] = level;
+                    added &= added - 1;
+                } while (added != 0);
+            }
+
+            for (int a = 0; a < activeCount; a++) {
+                frontier[active[a]] = 0;
+            }
+            long[] swapBlocks = frontier;
+            frontier = next;
+            next = swapBlocks;
+            int[] swapActive = active;
+            active = nextActive;
+            nextActive = swapActive;
+            activeCount = nextCount;
+        }
+        return new DistanceField(steps, width, reached, level - 1);
+    }
+
+    private static int queue(int[] candidates, int count, int[] queuedAt, int block, int level) {
+        if (queuedAt[block] == level) return count;
+        queuedAt[block] = level;
+        candidates[count] = block;
+        return count + 1;
+    }
+
+    // Regroups the mask into 8x8 blocks, bit (row * 8 + column), surrounded by a ring of closed blocks.
+    private static long[] toBlocks(GameMap map, int columns) {
+        int words = WalkabilityMask.wordsPerRow(map.getWidth());
+        long[] rows = map.getWalkability().snapshot();
+        long[] blocks = new long[columns * (((map.getHeight() + 7) >>> 3) + 2)];
+        for (int y = 0; y < map.getHeight(); y++) {
+            int firstBlock = ((y >>> 3) + 1) * columns + 1;
+            int shift = (y & 7) << 3;
+            for (int i = 0; i < words; i++) {
+                long word = rows[y * words + i];
+                for (int block = firstBlock + (i << 3); word != 0; block++, word >>>= 8) {
+                    blocks[block] |= (word & 0xFF) << shift;
+                }
+            }
+        }
+        return blocks;
+    }
+
+    public static ReachableSet reachable(GameMap map, Coordinate source) {
+        int width = map.getWidth();
+        int height = map.getHeight();
+        int words = WalkabilityMask.wordsPerRow(width);
+        long[] walkable = map.getWalkability().snapshot();
+        long[] reached = new long[walkable.length];
+
+        int sourceWord = source.y() * words + (source.x() >>> 6);
+        long sourceBit = 1L << source.x();
+        if ((walkable[sourceWord] & sourceBit) == 0) return new ReachableSet(reached, width, words, 0);
+        reached[sourceWord] = sourceBit;
+        fillRow(walkable, reached, source.y() * words, words);
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int y = 1; y < height; y++) {
+                changed |= spread(walkable, reached, y * words, (y - 1) * words, words);
+            }
+            for (int y = height - 2; y >= 0; y--) {
+                changed |= spread(walkable, reached, y * words, (y + 1) * words, words);
+            }
+        }
+
+        int size = 0;
+        for (long word : reached) {
+            size += Long.bitCount(word);
+        }
+        return new ReachableSet(reached, width, words, size);
+    }
+
+    // Seeds a row from the reached tiles of an adjacent one and floods it; true if the row grew.
+    private static boolean spread(long[] walkable, long[] reached, int row, int from, int words) {
+        boolean seeded = false;
+        for (int i = 0; i < words; i++) {
+            long added = reached[from + i] & walkable[row + i] & ~reached[row + i];
+            if (added != 0) {
+                reached[row + i] |= added;
+                seeded = true;
+            }
+        }
+        if (seeded) fillRow(walkable, reached, row, words);
+        return seeded;
+    }
+
+    // Extends every reached bit of a row along its run of walkable tiles, across word boundaries.
+    private static void fillRow(long[] walkable, long[] reached, int row, int words) {
+        long carry = 0;
+        for (int i = 0; i < words; i++) {
+            long open = walkable[row + i];
+            long filled = fillUp((reached[row + i] | carry) & open, open);
+            reached[row + i] = filled;
+            carry = filled >>> 63;
+        }
+        carry = 0;
+        for (int i = words - 1; i >= 0; i--) {
+            long open = walkable[row + i];
+            long filled = fillDown((reached[row + i] | carry) & open, open);
+            reached[row + i] = filled;
+            carry = filled << 63;
+        }
+    }
+
+    // Kogge-Stone fill towards the high bits: each seed spreads through the set bits of open above it.
+    private static long fillUp(long seeds, long open) {
+        seeds |= open & (seeds << 1);
+        open &= open << 1;
+        seeds |= open & (seeds << 2);
+        open &= open << 2;
+        seeds |= open & (seeds << 4);
+        open &= open << 4;
+        seeds |= open & (seeds << 8);
+        open &= open << 8;
+        seeds |= open & (seeds << 16);
+        open &= open << 16;
+        return seeds | open & (seeds << 32);
+    }
+
+    private static long fillDown(long seeds, long open) {
+        seeds |= open & (seeds >>> 1);
+        open &= open >>> 1;
+        seeds |= open & (seeds >>> 2);
+        open &= open >>> 2;
+        seeds |= open & (seeds >>> 4);
+        open &= open >>> 4;
+        seeds |= open & (seeds >>> 8);
+        open &= open >>> 8;
+        seeds |= open & (seeds >>> 16);
+        open &= open >>> 16;
+        return seeds | open & (seeds >>> 32);
+    }
+}
@@ -0,0 +1,86 @@
+package application.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Dial's circular bucket queue for small integer edge costs. With edges of at
+ * most {@code maxCost}, every pending distance lies within maxCost of the
+ * current one, so maxCost + 1 buckets are enough. Entries are never removed
+ * on decrease-key; callers skip stale ones when they come out. Pushes, polls
+ * and the peak size are counted from the last {@link #reset(int)}.
+ */
+public class BucketQueue {
+
+    private int[][] buckets = new int[0][];
+    private int[] sizes = new int[0];
+    private int bucketCount;
+    private int currentDistance;
+    private int count;
+    private long pushes;
+    private long pops;
+    private int peakSize;
+
+    public void reset(int maxCost) {
+        bucketCount = maxCost + 1;
+        if (buckets.length < bucketCount) {
+            buckets = Arrays.copyOf(buckets, bucketCount);
+            sizes = Arrays.copyOf(sizes, bucketCount);
+        }
+        for (int i = 0; i < bucketCount; i++) {
+            if (buckets[i] == null) buckets[i] = new int[16];
+            sizes[i] = 0;
+        }
+        currentDistance = 0;
+        count = 0;
+        pushes = 0;
+        pops = 0;
+        peakSize = 0;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long pushes() {
+        return pushes;
+    }
+
+    public long pops() {
+        return pops;
+    }
+
+    public int peakSize() {
+        return peakSize;
+    }
+
+    public void push(int node, int distance) {
+        int slot = distance % bucketCount;
+        int[] bucket = buckets[slot];
+        if (sizes[slot] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            buckets[slot] = bucket;
+        }
+        bucket[sizes[slot]++] = node;
+        pushes++;
+        if (++count > peakSize) peakSize = count;
+    }
+
+    public int poll() {
+        int slot = currentDistance % bucketCount;
+        while (sizes[slot] == 0) {
+            currentDistance++;
+            slot = currentDistance % bucketCount;
+        }
+        count--;
+        pops++;
+        return buckets[slot][--sizes[slot]];
+    }
+
+    public int currentDistance() {
+        return currentDistance;
+    }
+}
@@ -0,0 +1,381 @@
+package application.algorithms;
+
+import application.interfaces.SearchMonitor;
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+import domain.TileChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * HPA* abstraction of a {@link GameMap}: the grid is cut into square clusters,
+ * each border between two clusters gets one or two transitions per open run,
+ * and every cluster stores the shortest in-cluster cost between its entrance
+ * tiles. Queries run A* on that graph, then refine only the clusters the
+ * abstract route goes through. Routes are near-optimal, not always exact.
+ * <p>
+ * Tile edits mark the owning cluster (and the neighbour across a border)
+ * dirty; dirty clusters are rebuilt lazily before the next query.
+ */
+public class ClusterAbstraction implements TileChangeListener {
+
+    private static final int MAX_SINGLE_TRANSITION_LENGTH = 6;
+
+    private final GameMap map;
+    private final int clusterSize;
+    private final int clustersX;
+    private final int clustersY;
+
+    private final int[][] entrances;
+    private final int[][] distances;
+    private final boolean[] dirty;
+    private final int[] dirtyQueue;
+    private int dirtyCount;
+
+    private int[] scratch = new int[16];
+    private int[] startCosts = new int[0];
+    private int[] goalCosts = new int[0];
+    private int[] abstractPath = new int[16];
+    // Monitor of the query in progress, so the per-cluster searches it triggers are counted too.
+    private SearchMonitor reporting = SearchMonitor.NONE;
+
+    public ClusterAbstraction(GameMap map, int clusterSize) {
+        this.map = map;
+        this.clusterSize = clusterSize;
+        this.clustersX = (map.getWidth() + clusterSize - 1) / clusterSize;
+        this.clustersY = (map.getHeight() + clusterSize - 1) / clusterSize;
+
+        int clusterCount = clustersX * clustersY;
+        this.entrances = new int[clusterCount][];
+        this.distances = new int[clusterCount][];
+        this.dirty = new boolean[clusterCount];
+        this.dirtyQueue = new int[clusterCount];
+
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                markDirty(cx, cy);
+            }
+        }
+        map.addTileChangeListener(this);
+    }
+
+    public GameMap getMap() {
+        return map;
+    }
+
+    public void detach() {
+        map.removeTileChangeListener(this);
+    }
+
+    @Override
+    public synchronized void onTileChanged(int x, int y, MapElementType previous, MapElementType current) {
+        if (previous.getTraversalCost() == current.getTraversalCost()) return;
+
+        int cx = x / clusterSize;
+        int cy = y / clusterSize;
+        markDirty(cx, cy);
+        if (x % clusterSize == 0) markDirty(cx - 1, cy);
+        if ((x + 1) % clusterSize == 0) markDirty(cx + 1, cy);
+        if (y % clusterSize == 0) markDirty(cx, cy - 1);
+        if ((y + 1) % clusterSize == 0) markDirty(cx, cy + 1);
+    }
+
+    @Override
+    public synchronized void onMapReloaded() {
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                markDirty(cx, cy);
+            }
+        }
+    }
+
+    private void markDirty(int cx, int cy) {
+        if (cx < 0 || cx >= clustersX || cy < 0 || cy >= clustersY) return;
+        int cluster = cy * clustersX + cx;
+        if (dirty[cluster]) return;
+        dirty[cluster] = true;
+        dirtyQueue[dirtyCount++] = cluster;
+    }
+
+    public synchronized void refresh() {
+        for (int i = 0; i < dirtyCount; i++) {
+            int cluster = dirtyQueue[i];
+            rebuild(cluster);
+            dirty[cluster] = false;
+        }
+        dirtyCount = 0;
+    }
+
+    private void rebuild(int cluster) {
+        int[] found = collectEntrances(cluster);
+        int n = found.length;
+        int[] matrix = new int[n * n];
+
+        for (int i = 0; i < n; i++) {
+            SearchContext context = searchCluster(cluster, found[i], false, -1);
+            for (int j = 0; j < n; j++) {
+                matrix[i * n + j] = context.distance(found[j]);
+            }
+        }
+
+        entrances[cluster] = found;
+        distances[cluster] = matrix;
+    }
+
+    private int[] collectEntrances(int cluster) {
+        int cx = cluster % clustersX;
+        int cy = cluster / clustersX;
+        int x0 = cx * clusterSize;
+        int y0 = cy * clusterSize;
+        int x1 = Math.min(x0 + clusterSize, map.getWidth());
+        int y1 = Math.min(y0 + clusterSize, map.getHeight());
+
+        int count = 0;
+        if (cx > 0) count = scanBorder(count, x0, y0, -1, 0, y1 - y0);
+        if (cx < clustersX - 1) count = scanBorder(count, x1 - 1, y0, 1, 0, y1 - y0);
+        if (cy > 0) count = scanBorder(count, x0, y0, 0, -1, x1 - x0);
+        if (cy < clustersY - 1) count = scanBorder(count, x0, y1 - 1, 0, 1, x1 - x0);
+
+        return Arrays.copyOf(scratch, count);
+    }
+
+    // Walks a border of the cluster, starting at (x, y) on the inside edge; (outX, outY) points across it.
+    private int scanBorder(int count, int x, int y, int outX, int outY, int length) {
+        int stepX = outX == 0 ? 1 : 0;
+        int stepY = outY == 0 ? 1 : 0;
+        int runStart = -1;
+
+        for (int i = 0; i <= length; i++) {
+            int ix = x + i * stepX;
+            int iy = y + i * stepY;
+            boolean open = i < length && map.isWalkable(ix, iy) && map.isWalkable(ix + outX, iy + outY);
+
+            if (open && runStart < 0) {
+                runStart = i;
+            } else if (!open && runStart >= 0) {
+                int runLength = i - runStart;
+                if (runLength < MAX_SINGLE_TRANSITION_LENGTH) {
+                    int middle = runStart + runLength / 2;
+                    count = addEntrance(count, map.indexOf(x + middle * stepX, y + middle * stepY));
+                } else {
+                    count = addEntrance(count, map.indexOf(x + runStart * stepX, y + runStart * stepY));
+                    count = addEntrance(count, map.indexOf(x + (i - 1) * stepX, y + (i - 1) * stepY));
+                }
+                runStart = -1;
+            }
+        }
+        return count;
+    }
+
+    private int addEntrance(int count, int tile) {
+        for (int i = 0; i < count; i++) {
+            if (scratch[i] == tile) return count;
+        }
+        if (count == scratch.length) scratch = Arrays.copyOf(scratch, count * 2);
+        scratch[count] = tile;
+        return count + 1;
+    }
+
+    public synchronized List<Coordinate> findPath(Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        refresh();
+        reporting = monitor;
+        try {
+            return search(start, goal, monitor);
+        } finally {
+            reporting = SearchMonitor.NONE;
+        }
+    }
+
+    private List<Coordinate> search(Coordinate start, Coordinate goal, SearchMonitor monitor) {
+
+        int source = map.indexOf(start.x(), start.y());
+        int target = map.indexOf(goal.x(), goal.y());
+        if (source == target) return new ArrayList<>(List.of(start));
+
+        int startCluster = clusterOf(source);
+        int goalCluster = clusterOf(target);
+        int[] startEntrances = entrances[startCluster];
+        int[] goalEntrances = entrances[goalCluster];
+
+        SearchContext context = searchCluster(startCluster, source, false, -1);
+        startCosts = copyDistances(context, startEntrances, startCosts);
+        int direct = startCluster == goalCluster ? context.distance(target) : SearchContext.UNREACHED;
+
+        context = searchCluster(goalCluster, target, true, -1);
+        goalCosts = copyDistances(context, goalEntrances, goalCosts);
+
+        context = SearchContext.acquire(map.getTileCount());
+        IntMinHeap openSet = context.openSet();
+        int unitCost = map.getMinTraversalCost();
+
+        context.update(source, 0, SearchContext.NO_PARENT);
+        openSet.push(source, heuristic(source, goal, unitCost));
+
+        boolean found = false;
+        long expanded = 0;
+        while (!openSet.isEmpty()) {
+            int node = openSet.poll();
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
+            if (node == target) {
+                found = true;
+                break;
+            }
+            int g = context.distance(node);
+
+            if (node == source) {
+                for (int j = 0; j < startEntrances.length; j++) {
+                    relax(context, node, startEntrances[j], g, startCosts[j], goal, unitCost);
+                }
+                relax(context, node, target, g, direct, goal, unitCost);
+            }
+
+            int cluster = clusterOf(node);
+            int[] own = entrances[cluster];
+            int i = indexOf(own, node);
+            if (i < 0) continue;
+
+            int n = own.length;
+            int[] matrix = distances[cluster];
+            for (int j = 0; j < n; j++) {
+                if (j != i) relax(context, node, own[j], g, matrix[i * n + j], goal, unitCost);
+            }
+            if (cluster == goalCluster) {
+                relax(context, node, target, g, goalCosts[i], goal, unitCost);
+            }
+
+            int x = map.xOf(node);
+            int y = map.yOf(node);
+            if (y > 0) relaxTransition(context, node, cluster, node - map.getWidth(), g, goal, unitCost);
+            if (y < map.getHeight() - 1) relaxTransition(context, node, cluster, node + map.getWidth(), g, goal, unitCost);
+            if (x > 0) relaxTransition(context, node, cluster, node - 1, g, goal, unitCost);
+            if (x < map.getWidth() - 1) relaxTransition(context, node, cluster, node + 1, g, goal, unitCost);
+        }
+
+        context.report(monitor, expanded, 0);
+        if (!found) return null;
+
+        int length = 0;
+        for (int at = target; at != SearchContext.NO_PARENT; at = context.parent(at)) {
+            if (length == abstractPath.length) abstractPath = Arrays.copyOf(abstractPath, length * 2);
+            abstractPath[length++] = at;
+        }
+
+        return refine(start, length);
+    }
+
+    private List<Coordinate> refine(Coordinate start, int length) {
+        List<Coordinate> path = new ArrayList<>();
+        path.add(start);
+
+        for (int k = length - 1; k > 0; k--) {
+            int from = abstractPath[k];
+            int to = abstractPath[k - 1];
+            int cluster = clusterOf(from);
+
+            if (cluster != clusterOf(to)) {
+                path.add(new Coordinate(map.xOf(to), map.yOf(to)));
+                continue;
+            }
+
+            SearchContext local = searchCluster(cluster, from, false, to);
+            int mark = path.size();
+            for (int at = to; at != from; at = local.parent(at)) {
+                path.add(new Coordinate(map.xOf(at), map.yOf(at)));
+            }
+            Collections.reverse(path.subList(mark, path.size()));
+        }
+        return path;
+    }
+
+    private void relax(SearchContext context, int node, int neighbor, int g, int edgeCost, Coordinate goal, int unitCost) {
+        if (edgeCost == SearchContext.UNREACHED) return;
+
+        int tentativeG = g + edgeCost;
+        if (tentativeG < context.distance(neighbor)) {
+            context.update(neighbor, tentativeG, node);
+            context.openSet().push(neighbor, tentativeG + heuristic(neighbor, goal, unitCost));
+        }
+    }
+
+    private void relaxTransition(SearchContext context, int node, int cluster, int neighbor, int g, Coordinate goal, int unitCost) {
+        int neighborCluster = clusterOf(neighbor);
+        if (neighborCluster == cluster || indexOf(entrances[neighborCluster], neighbor) < 0) return;
+
+        int cost = map.getTraversalCost(neighbor);
+        if (cost > 0) relax(context, node, neighbor, g, cost, goal, unitCost);
+    }
+
+    private int heuristic(int node, Coordinate goal, int unitCost) {
+        return unitCost * (Math.abs(map.xOf(node) - goal.x()) + Math.abs(map.yOf(node) - goal.y()));
+    }
+
+    /**
+     * Dijkstra restricted to one cluster. A backward search measures the cost of
+     * reaching {@code source} from each tile instead of the cost of leaving it.
+     */
+    private SearchContext searchCluster(int cluster, int source, boolean backward, int stopAt) {
+        int width = map.getWidth();
+        int x0 = (cluster % clustersX) * clusterSize;
+        int y0 = (cluster / clustersX) * clusterSize;
+        int x1 = Math.min(x0 + clusterSize, width);
+        int y1 = Math.min(y0 + clusterSize, map.getHeight());
+
+        SearchContext context = SearchContext.acquire(map.getTileCount());
+        IntMinHeap openSet = context.openSet();
+        context.update(source, 0, SearchContext.NO_PARENT);
+        openSet.push(source, 0);
+
+        long expanded = 0;
+        while (!openSet.isEmpty()) {
+            int node = openSet.poll();
+            expanded++;
+            if (node == stopAt) break;
+
+            int x = node % width;
+            int y = node / width;
+            int distance = context.distance(node);
+            int nodeCost = map.getTraversalCost(node);
+
+            if (y > y0) relaxLocal(context, node, node - width, distance, nodeCost, backward);
+            if (y < y1 - 1) relaxLocal(context, node, node + width, distance, nodeCost, backward);
+            if (x > x0) relaxLocal(context, node, node - 1, distance, nodeCost, backward);
+            if (x < x1 - 1) relaxLocal(context, node, node + 1, distance, nodeCost, backward);
+        }
+        context.report(reporting, expanded, 0);
+        return context;
+    }
+
+    private void relaxLocal(SearchContext context, int node, int neighbor, int distance, int nodeCost, boolean backward) {
+        int cost = map.getTraversalCost(neighbor);
+        if (cost == 0) return;
+
+        int tentative = distance + (backward ? nodeCost : cost);
+        if (tentative < context.distance(neighbor)) {
+            context.update(neighbor, tentative, node);
+            context.openSet().push(neighbor, tentative);
+        }
+    }
+
+    private int[] copyDistances(SearchContext context, int[] tiles, int[] target) {
+        if (target.length < tiles.length) target = new int[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            target[i] = context.distance(tiles[i]);
+        }
+        return target;
+    }
+
+    private int clusterOf(int tile) {
+        return (map.yOf(tile) / clusterSize) * clustersX + map.xOf(tile) / clusterSize;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,30 @@
+package application.algorithms;
+
+import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.List;
+
+public class DStarLitePathFinder implements PathFindingUseCase {
+
+    private DStarLitePlanner planner;
+
+    @Override
+    public synchronized List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        if (!map.getConnectivity().areConnected(start, goal)) return null;
+
+        if (planner == null || planner.getMap() != map) {
+            if (planner != null) planner.detach();
+            planner = new DStarLitePlanner(map);
+        }
+        return planner.findPath(start, goal, monitor);
+    }
+
+    @Override
+    public synchronized void detach() {
+        if (planner != null) planner.detach();
+        planner = null;
+    }
+}
@@ -0,0 +1,239 @@
+package application.algorithms;
+
+import application.interfaces.SearchMonitor;
+import application.interfaces.SearchStatistics;
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+import domain.TileChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * D* Lite search state for one map. The search runs backward from the goal
+ * and is kept between queries: moving the start only shifts the key modifier,
+ * and changed tiles only re-open the vertices around them. A new goal, or more
+ * edits than are worth repairing, start the search over.
+ */
+public class DStarLitePlanner implements TileChangeListener {
+
+    private static final int INFINITE = Integer.MAX_VALUE;
+
+    private final GameMap map;
+    private final int[] g;
+    private final int[] rhs;
+    private final LongMinHeap openSet;
+    private final int unitCost = MapElementType.minTraversalCost();
+
+    private int goal = -1;
+    private int start = -1;
+    private int keyModifier;
+    private boolean stale = true;
+    private int[] changed = new int[16];
+    private int changedCount;
+
+    public DStarLitePlanner(GameMap map) {
+        this.map = map;
+        this.g = new int[map.getTileCount()];
+        this.rhs = new int[map.getTileCount()];
+        this.openSet = new LongMinHeap(map.getTileCount());
+        map.addTileChangeListener(this);
+    }
+
+    public GameMap getMap() {
+        return map;
+    }
+
+    public void detach() {
+        map.removeTileChangeListener(this);
+    }
+
+    @Override
+    public synchronized void onTileChanged(int x, int y, MapElementType previous, MapElementType current) {
+        if (stale || previous.getTraversalCost() == current.getTraversalCost()) return;
+
+        if (changedCount >= g.length / 8 + 16) {
+            stale = true;
+            changedCount = 0;
+            return;
+        }
+        if (changedCount == changed.length) changed = Arrays.copyOf(changed, changedCount * 2);
+        changed[changedCount++] = map.indexOf(x, y);
+    }
+
+    @Override
+    public synchronized void onMapReloaded() {
+        stale = true;
+        changedCount = 0;
+    }
+
+    public synchronized List<Coordinate> findPath(Coordinate from, Coordinate to, SearchMonitor monitor) {
+        int source = map.indexOf(from.x(), from.y());
+        int target = map.indexOf(to.x(), to.y());
+
+        if (stale || target != goal) {
+            reset(source, target);
+        } else {
+            if (source != start) {
+                keyModifier += heuristic(start, source);
+                start = source;
+            }
+            applyChanges();
+        }
+
+        computeShortestPath(monitor);
+        return g[start] == INFINITE ? null : extractPath();
+    }
+
+    private void reset(int source, int target) {
+        Arrays.fill(g, INFINITE);
+        Arrays.fill(rhs, INFINITE);
+        openSet.clear();
+        keyModifier = 0;
+        changedCount = 0;
+        stale = false;
+        start = source;
+        goal = target;
+
+        rhs[goal] = 0;
+        openSet.put(goal, key(goal));
+    }
+
+    private void applyChanges() {
+        for (int i = 0; i < changedCount; i++) {
+            int tile = changed[i];
+            updateRhs(tile);
+            int x = map.xOf(tile);
+            int y = map.yOf(tile);
+            for (int direction = 0; direction < 4; direction++) {
+                int neighbor = neighbor(tile, x, y, direction);
+                if (neighbor >= 0) updateRhs(neighbor);
+            }
+        }
+        changedCount = 0;
+    }
+
+    // Stopping between two iterations leaves the open set consistent, so a cancelled search resumes on the next call.
+    private void computeShortestPath(SearchMonitor monitor) {
+        long pushesBefore = openSet.pushes();
+        long popsBefore = openSet.pops();
+        openSet.resetPeakSize();
+        long expanded = 0;
+        long stalePops = 0;
+        while (!openSet.isEmpty()) {
+            long topKey = openSet.peekKey();
+            if (topKey >= key(start) && rhs[start] == g[start]) break;
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
+
+            int node = openSet.peek();
+            long newKey = key(node);
+            int x = map.xOf(node);
+            int y = map.yOf(node);
+
+            if (topKey < newKey) {
+                stalePops++;
+                openSet.put(node, newKey);
+            } else if (g[node] > rhs[node]) {
+                g[node] = rhs[node];
+                openSet.remove(node);
+                int cost = map.getTraversalCost(node);
+                for (int direction = 0; direction < 4; direction++) {
+                    int predecessor = neighbor(node, x, y, direction);
+                    if (predecessor < 0 || predecessor == goal || map.getTraversalCost(predecessor) == 0) continue;
+                    if (cost + g[node] < rhs[predecessor]) {
+                        rhs[predecessor] = cost + g[node];
+                        updateVertex(predecessor);
+                    }
+                }
+            } else {
+                g[node] = INFINITE;
+                updateRhs(node);
+                for (int direction = 0; direction < 4; direction++) {
+                    int predecessor = neighbor(node, x, y, direction);
+                    if (predecessor >= 0) updateRhs(predecessor);
+                }
+            }
+        }
+
+        SearchStatistics statistics = monitor.statistics();
+        if (statistics != null) {
+            statistics.recordExpansions(expanded - stalePops, stalePops);
+            statistics.recordQueue(openSet.pushes() - pushesBefore, openSet.pops() - popsBefore, openSet.peakSize());
+        }
+    }
+
+    private void updateRhs(int node) {
+        if (node != goal) rhs[node] = bestSuccessorCost(node);
+        updateVertex(node);
+    }
+
+    private void updateVertex(int node) {
+        if (g[node] != rhs[node]) {
+            openSet.put(node, key(node));
+        } else {
+            openSet.remove(node);
+        }
+    }
+
+    private int bestSuccessorCost(int node) {
+        if (map.getTraversalCost(node) == 0) return INFINITE;
+
+        int best = INFINITE;
+        int x = map.xOf(node);
+        int y = map.yOf(node);
+        for (int direction = 0; direction < 4; direction++) {
+            int successor = neighbor(node, x, y, direction);
+            if (successor < 0 || g[successor] == INFINITE) continue;
+            int cost = map.getTraversalCost(successor);
+            if (cost > 0 && cost + g[successor] < best) best = cost + g[successor];
+        }
+        return best;
+    }
+
+    private long key(int node) {
+        int base = Math.min(g[node], rhs[node]);
+        if (base == INFINITE) return Long.MAX_VALUE;
+        return ((long) (base + heuristic(start, node) + keyModifier) << 32) | base;
+    }
+
+    private int heuristic(int a, int b) {
+        return unitCost * (Math.abs(map.xOf(a) - map.xOf(b)) + Math.abs(map.yOf(a) - map.yOf(b)));
+    }
+
+    private List<Coordinate> extractPath() {
+        List<Coordinate> path = new ArrayList<>();
+        int current = start;
+        path.add(new Coordinate(map.xOf(current), map.yOf(current)));
+
+        while (current != goal) {
+            int next = -1;
+            long best = Long.MAX_VALUE;
+            int x = map.xOf(current);
+            int y = map.yOf(current);
+            for (int direction = 0; direction < 4; direction++) {
+                int successor = neighbor(current, x, y, direction);
+                if (successor < 0 || g[successor] == INFINITE) continue;
+                int cost = map.getTraversalCost(successor);
+                if (cost > 0 && (long) cost + g[successor] < best) {
+                    best = (long) cost + g[successor];
+                    next = successor;
+                }
+            }
+            if (next < 0 || path.size() > g.length) return null;
+            current = next;
+            path.add(new Coordinate(map.xOf(current), map.yOf(current)));
+        }
+        return path;
+    }
+
+    private int neighbor(int tile, int x, int y, int direction) {
+        return switch (direction) {
+            case 0 -> y > 0 ? tile - map.getWidth() : -1;
+            case 1 -> y < map.getHeight() - 1 ? tile + map.getWidth() : -1;
+            case 2 -> x > 0 ? tile - 1 : -1;
+            default -> x < map.getWidth() - 1 ? tile + 1 : -1;
+        };
+    }
+}
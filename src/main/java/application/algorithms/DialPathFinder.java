@@ -0,0 +1,75 @@
+package application.algorithms;
+
+import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import application.interfaces.SearchStatistics;
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+
+import java.util.List;
+
+public class DialPathFinder implements PathFindingUseCase {
+
+    @Override
+    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        int mapWidth = map.getWidth();
+        int mapHeight = map.getHeight();
+        int source = map.indexOf(start.x(), start.y());
+        int target = map.indexOf(goal.x(), goal.y());
+
+        if (!map.getConnectivity().areConnected(source, target)) return null;
+
+        SearchContext context = SearchContext.acquire(map.getTileCount());
+        BucketQueue toVisit = context.buckets(MapElementType.maxTraversalCost());
+
+        context.update(source, 0, SearchContext.NO_PARENT);
+        toVisit.push(source, 0);
+
+        long expanded = 0;
+        long stale = 0;
+        while (!toVisit.isEmpty()) {
+            int current = toVisit.poll();
+            int currentDistance = toVisit.currentDistance();
+            if (context.distance(current) != currentDistance) {
+                stale++;
+                continue;
+            }
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
+
+            if (current == target) {
+                report(monitor, toVisit, expanded, stale);
+                return context.buildPath(map, target);
+            }
+
+            int x = current % mapWidth;
+            int y = current / mapWidth;
+
+            if (y > 0) relax(map, context, toVisit, current, current - mapWidth, currentDistance);
+            if (y < mapHeight - 1) relax(map, context, toVisit, current, current + mapWidth, currentDistance);
+            if (x > 0) relax(map, context, toVisit, current, current - 1, currentDistance);
+            if (x < mapWidth - 1) relax(map, context, toVisit, current, current + 1, currentDistance);
+        }
+
+        report(monitor, toVisit, expanded, stale);
+        return null;
+    }
+
+    private void report(SearchMonitor monitor, BucketQueue toVisit, long expanded, long stale) {
+        SearchStatistics statistics = monitor.statistics();
+        if (statistics == null) return;
+        statistics.recordExpansions(expanded, stale);
+        statistics.recordQueue(toVisit.pushes(), toVisit.pops(), toVisit.peakSize());
+    }
+
+    private void relax(GameMap map, SearchContext context, BucketQueue toVisit, int current, int neighbor, int currentDistance) {
+        int cost = map.getTraversalCost(neighbor);
+        if (cost == 0) return;
+
+        int tentativeDistance = currentDistance + cost;
+        if (tentativeDistance < context.distance(neighbor)) {
+            context.update(neighbor, tentativeDistance, current);
+            toVisit.push(neighbor, tentativeDistance);
+        }
+    }
+}
@@ -1,83 +1,62 @@
 package application.algorithms;
 
 import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
 import domain.Coordinate;
 import domain.GameMap;
-import domain.MapCell;
 
-import java.util.*;
+import java.util.List;
 
 public class DijkstraPathFinder implements PathFindingUseCase {
 
-    private static final List<Coordinate> DIRECTIONS = List.of(
-            new Coordinate(0, -1),
-            new Coordinate(0, 1),
-            new Coordinate(-1, 0),
-            new Coordinate(1, 0)
-    );
-
     @Override
-    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal) {
+    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
         int mapWidth = map.getWidth();
         int mapHeight = map.getHeight();
+        int source = map.indexOf(start.x(), start.y());
+        int target = map.indexOf(goal.x(), goal.y());
+
+        if (!map.getConnectivity().areConnected(source, target)) return null;
 
-        Map<Coordinate, Coordinate> previousStep = new HashMap<>();
-        Map<Coordinate, Integer> shortestDistances = new HashMap<>();
-        PriorityQueue<Coordinate> toVisit = new PriorityQueue<>(Comparator.comparingInt(shortestDistances::get));
+        SearchContext context = SearchContext.acquire(map.getTileCount());
+        IntMinHeap toVisit = context.openSet();
 
-        shortestDistances.put(start, 0);
-        toVisit.add(start);
+        context.update(source, 0, SearchContext.NO_PARENT);
+        toVisit.push(source, 0);
 
+        long expanded = 0;
         while (!toVisit.isEmpty()) {
-            Coordinate current = toVisit.poll();
+            int current = toVisit.poll();
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
 
-            if (current.equals(goal)) {
-                return buildPath(previousStep, goal);
+            if (current == target) {
+                context.report(monitor, expanded, 0);
+                return context.buildPath(map, target);
             }
 
-            for (Coordinate direction : DIRECTIONS) {
-                Coordinate neighbor = new Coordinate(current.x() + direction.x(), current.y() + direction.y());
-
-                if (!isWithinBounds(neighbor, mapWidth, mapHeight)) continue;
-                if (!isWalkable(map.getCell(neighbor.x(), neighbor.y()))) continue;
+            int x = current % mapWidth;
+            int y = current / mapWidth;
+            int currentDistance = context.distance(current);
 
-                int tentativeDistance = shortestDistances.get(current) + 1;
-
-                if (tentativeDistance < shortestDistances.getOrDefault(neighbor, Integer.MAX_VALUE)) {
-                    shortestDistances.put(neighbor, tentativeDistance);
-                    previousStep.put(neighbor, current);
-                    toVisit.add(neighbor);
-                }
-            }
+            if (y > 0) relax(map, context, current, current - mapWidth, currentDistance);
+            if (y < mapHeight - 1) relax(map, context, current, current + mapWidth, currentDistance);
+            if (x > 0) relax(map, context, current, current - 1, currentDistance);
+            if (x < mapWidth - 1) relax(map, context, current, current + 1, currentDistance);
         }
 
+        context.report(monitor, expanded, 0);
         return null;
     }
 
-    private boolean isWithinBounds(Coordinate coord, int width, int height) {
-        return coord.x() >= 0 && coord.x() < width && coord.y() >= 0 && coord.y() < height;
-    }
+    private void relax(GameMap map, SearchContext context, int current, int neighbor, int currentDistance) {
+        int cost = map.getTraversalCost(neighbor);
+        if (cost == 0) return;
 
-    private boolean isWalkable(MapCell cell) {
-        return switch (cell.getType()) {
-            case HERBE, NOEUD, ARRETE_HORIZONTAL, ARRETE_VERTICAL, START, CHATEAU -> true;
-            default -> false;
-        };
-    }
-
-    private List<Coordinate> buildPath(Map<Coordinate, Coordinate> previousStep, Coordinate target) {
-        List<Coordinate> path = new ArrayList<>();
-        Coordinate current = target;
-
-        while (previousStep.containsKey(current)) {
-            path.add(current);
-            current = previousStep.get(current);
+        int tentativeDistance = currentDistance + cost;
+        if (tentativeDistance < context.distance(neighbor)) {
+            context.update(neighbor, tentativeDistance, current);
+            context.openSet().push(neighbor, tentativeDistance);
         }
-
-        path.add(current);
-
-        Collections.reverse(path);
-        return path;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package application.algorithms;
+
+/**
+ * Number of steps from a source to every tile, ignoring terrain costs, or
+ * {@link #UNREACHABLE}. The farthest of the {@code reachedCount} reached
+ * tiles is {@code maxSteps} away.
+ */
+public record DistanceField(int[] steps, int width, int reachedCount, int maxSteps) {
+
+    public static final int UNREACHABLE = -1;
+
+    public int steps(int x, int y) {
+        return steps[y * width + x];
+    }
+}
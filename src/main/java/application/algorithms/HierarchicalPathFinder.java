@@ -0,0 +1,32 @@
+package application.algorithms;
+
+import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.List;
+
+public class HierarchicalPathFinder implements PathFindingUseCase {
+
+    private static final int CLUSTER_SIZE = 16;
+
+    private ClusterAbstraction abstraction;
+
+    @Override
+    public synchronized List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        if (!map.getConnectivity().areConnected(start, goal)) return null;
+
+        if (abstraction == null || abstraction.getMap() != map) {
+            if (abstraction != null) abstraction.detach();
+            abstraction = new ClusterAbstraction(map, CLUSTER_SIZE);
+        }
+        return abstraction.findPath(start, goal, monitor);
+    }
+
+    @Override
+    public synchronized void detach() {
+        if (abstraction != null) abstraction.detach();
+        abstraction = null;
+    }
+}
@@ -0,0 +1,132 @@
+package application.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of node indices with int keys and decrease-key support.
+ * Positions are only meaningful for nodes that were {@link #forget(int) reset}
+ * in the current search, which {@link SearchContext} takes care of. Pushes,
+ * polls and the peak size are counted from the last {@link #clear()}.
+ */
+public class IntMinHeap {
+
+    private int[] nodes;
+    private int[] keys;
+    private int[] positions;
+    private int size;
+    private long pushes;
+    private long pops;
+    private int peakSize;
+
+    public IntMinHeap(int capacity) {
+        this.nodes = new int[capacity];
+        this.keys = new int[capacity];
+        this.positions = new int[capacity];
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (positions.length >= capacity) return;
+        nodes = Arrays.copyOf(nodes, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+    }
+
+    public void clear() {
+        size = 0;
+        pushes = 0;
+        pops = 0;
+        peakSize = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long pushes() {
+        return pushes;
+    }
+
+    public long pops() {
+        return pops;
+    }
+
+    public int peakSize() {
+        return peakSize;
+    }
+
+    public void forget(int node) {
+        positions[node] = -1;
+    }
+
+    public boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    public int peek() {
+        return nodes[0];
+    }
+
+    public int peekKey() {
+        return keys[nodes[0]];
+    }
+
+    public void push(int node, int key) {
+        int slot = positions[node];
+        if (slot < 0) {
+            slot = size++;
+            if (size > peakSize) peakSize = size;
+        } else if (key >= keys[node]) {
+            return;
+        }
+        pushes++;
+        keys[node] = key;
+        siftUp(node, slot);
+    }
+
+    public int poll() {
+        int top = nodes[0];
+        pops++;
+        positions[top] = -1;
+        int last = nodes[--size];
+        if (size > 0) siftDown(last, 0);
+        return top;
+    }
+
+    private void siftUp(int node, int slot) {
+        int key = keys[node];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = nodes[parentSlot];
+            if (keys[parent] <= key) break;
+            nodes[slot] = parent;
+            positions[parent] = slot;
+            slot = parentSlot;
+        }
+        nodes[slot] = node;
+        positions[node] = slot;
+    }
+
+    private void siftDown(int node, int slot) {
+        int key = keys[node];
+        int half = size >>> 1;
+        while (slot < half) {
+            int childSlot = 2 * slot + 1;
+            int child = nodes[childSlot];
+            int rightSlot = childSlot + 1;
+            if (rightSlot < size && keys[nodes[rightSlot]] < keys[child]) {
+                childSlot = rightSlot;
+                child = nodes[rightSlot];
+            }
+            if (key <= keys[child]) break;
+            nodes[slot] = child;
+            positions[child] = slot;
+            slot = childSlot;
+        }
+        nodes[slot] = node;
+        positions[node] = slot;
+    }
+}
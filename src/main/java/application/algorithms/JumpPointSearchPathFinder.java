@@ -0,0 +1,156 @@
+package application.algorithms;
+
+import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Jump Point Search restricted to 4-connected moves. Straight runs of open
+ * tiles are skipped in one jump; only tiles with a forced neighbour (or from
+ * which a horizontal jump reaches one) enter the open set.
+ * <p>
+ * Path symmetry only holds inside a region of equal traversal cost, so a jump
+ * never leaves the cost it started on, and every tile bordering a different
+ * walkable cost is a jump point expanded in all four directions.
+ */
+public class JumpPointSearchPathFinder implements PathFindingUseCase {
+
+    @Override
+    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        int width = map.getWidth();
+        int source = map.indexOf(start.x(), start.y());
+        int target = map.indexOf(goal.x(), goal.y());
+
+        if (!map.getConnectivity().areConnected(source, target)) return null;
+
+        int unitCost = map.getMinTraversalCost();
+
+        SearchContext context = SearchContext.acquire(map.getTileCount());
+        IntMinHeap openSet = context.openSet();
+
+        context.update(source, 0, SearchContext.NO_PARENT);
+        openSet.push(source, heuristic(start.x(), start.y(), goal, unitCost));
+
+        long expanded = 0;
+        while (!openSet.isEmpty()) {
+            int current = openSet.poll();
+            if (SearchMonitor.isCheckpoint(++expanded)) monitor.progress(expanded);
+            if (current == target) {
+                context.report(monitor, expanded, 0);
+                return buildPath(map, context, target);
+            }
+
+            int x = current % width;
+            int y = current / width;
+            int parent = context.parent(current);
+
+            if (parent == SearchContext.NO_PARENT || isCostBoundary(map, x, y)) {
+                expand(map, context, current, x, y, 0, -1, goal, unitCost);
+                expand(map, context, current, x, y, 0, 1, goal, unitCost);
+                expand(map, context, current, x, y, -1, 0, goal, unitCost);
+                expand(map, context, current, x, y, 1, 0, goal, unitCost);
+                continue;
+            }
+
+            int dx = Integer.signum(x - parent % width);
+            int dy = Integer.signum(y - parent / width);
+
+            if (dx != 0) {
+                expand(map, context, current, x, y, 0, -1, goal, unitCost);
+                expand(map, context, current, x, y, 0, 1, goal, unitCost);
+                expand(map, context, current, x, y, dx, 0, goal, unitCost);
+            } else {
+                expand(map, context, current, x, y, -1, 0, goal, unitCost);
+                expand(map, context, current, x, y, 1, 0, goal, unitCost);
+                expand(map, context, current, x, y, 0, dy, goal, unitCost);
+            }
+        }
+        context.report(monitor, expanded, 0);
+        return null;
+    }
+
+    private void expand(GameMap map, SearchContext context, int current, int x, int y, int dx, int dy, Coordinate goal, int unitCost) {
+        if (!map.isWalkable(x + dx, y + dy)) return;
+
+        int runCost = map.getTraversalCost(map.indexOf(x + dx, y + dy));
+        int jumpPoint = jump(map, x + dx, y + dy, dx, dy, runCost, goal);
+        if (jumpPoint < 0) return;
+
+        int jx = map.xOf(jumpPoint);
+        int jy = map.yOf(jumpPoint);
+        int tentativeG = context.distance(current) + runCost * (Math.abs(jx - x) + Math.abs(jy - y));
+        if (tentativeG < context.distance(jumpPoint)) {
+            context.update(jumpPoint, tentativeG, current);
+            context.openSet().push(jumpPoint, tentativeG + heuristic(jx, jy, goal, unitCost));
+        }
+    }
+
+    private int jump(GameMap map, int x, int y, int dx, int dy, int runCost, Coordinate goal) {
+        while (hasCost(map, x, y, runCost)) {
+            if (x == goal.x() && y == goal.y()) return map.indexOf(x, y);
+            if (isCostBoundary(map, x, y)) return map.indexOf(x, y);
+
+            if (dx != 0) {
+                if ((hasCost(map, x, y - 1, runCost) && !hasCost(map, x - dx, y - 1, runCost))
+                        || (hasCost(map, x, y + 1, runCost) && !hasCost(map, x - dx, y + 1, runCost))) {
+                    return map.indexOf(x, y);
+                }
+            } else {
+                if ((hasCost(map, x - 1, y, runCost) && !hasCost(map, x - 1, y - dy, runCost))
+                        || (hasCost(map, x + 1, y, runCost) && !hasCost(map, x + 1, y - dy, runCost))) {
+                    return map.indexOf(x, y);
+                }
+                if (jump(map, x + 1, y, 1, 0, runCost, goal) >= 0 || jump(map, x - 1, y, -1, 0, runCost, goal) >= 0) {
+                    return map.indexOf(x, y);
+                }
+            }
+
+            x += dx;
+            y += dy;
+        }
+        return -1;
+    }
+
+    private int heuristic(int x, int y, Coordinate goal, int unitCost) {
+        return unitCost * (Math.abs(x - goal.x()) + Math.abs(y - goal.y()));
+    }
+
+    private boolean hasCost(GameMap map, int x, int y, int cost) {
+        return map.isInside(x, y) && map.getTraversalCost(map.indexOf(x, y)) == cost;
+    }
+
+    private boolean isCostBoundary(GameMap map, int x, int y) {
+        int cost = map.getTraversalCost(map.indexOf(x, y));
+        return differs(map, x, y - 1, cost) || differs(map, x, y + 1, cost)
+                || differs(map, x - 1, y, cost) || differs(map, x + 1, y, cost);
+    }
+
+    private boolean differs(GameMap map, int x, int y, int cost) {
+        return map.isWalkable(x, y) && map.getTraversalCost(map.indexOf(x, y)) != cost;
+    }
+
+    private List<Coordinate> buildPath(GameMap map, SearchContext context, int target) {
+        List<Coordinate> path = new ArrayList<>();
+        int x = map.xOf(target);
+        int y = map.yOf(target);
+        path.add(new Coordinate(x, y));
+
+        for (int jumpPoint = context.parent(target); jumpPoint != SearchContext.NO_PARENT; jumpPoint = context.parent(jumpPoint)) {
+            int jx = map.xOf(jumpPoint);
+            int jy = map.yOf(jumpPoint);
+            while (x != jx || y != jy) {
+                x += Integer.signum(jx - x);
+                y += Integer.signum(jy - y);
+                path.add(new Coordinate(x, y));
+            }
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+}
@@ -0,0 +1,141 @@
+package application.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of node indices with long keys, supporting decrease-key,
+ * increase-key and removal of arbitrary nodes. Puts and removals are counted
+ * over the heap's lifetime; the peak size since {@link #resetPeakSize()}.
+ */
+public class LongMinHeap {
+
+    private final int[] nodes;
+    private final long[] keys;
+    private final int[] positions;
+    private int size;
+    private long pushes;
+    private long pops;
+    private int peakSize;
+
+    public LongMinHeap(int capacity) {
+        this.nodes = new int[capacity];
+        this.keys = new long[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[nodes[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long pushes() {
+        return pushes;
+    }
+
+    public long pops() {
+        return pops;
+    }
+
+    public int peakSize() {
+        return peakSize;
+    }
+
+    public void resetPeakSize() {
+        peakSize = size;
+    }
+
+    public boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    public int peek() {
+        return nodes[0];
+    }
+
+    public long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[nodes[0]];
+    }
+
+    public void put(int node, long key) {
+        int slot = positions[node];
+        pushes++;
+        if (slot < 0) {
+            keys[node] = key;
+            siftUp(node, size++);
+            if (size > peakSize) peakSize = size;
+        } else if (key < keys[node]) {
+            keys[node] = key;
+            siftUp(node, slot);
+        } else {
+            keys[node] = key;
+            siftDown(node, slot);
+        }
+    }
+
+    public int poll() {
+        int top = nodes[0];
+        remove(top);
+        return top;
+    }
+
+    public void remove(int node) {
+        int slot = positions[node];
+        if (slot < 0) return;
+
+        pops++;
+        positions[node] = -1;
+        int last = nodes[--size];
+        if (slot == size) return;
+
+        if (keys[last] < keys[node]) {
+            siftUp(last, slot);
+        } else {
+            siftDown(last, slot);
+        }
+    }
+
+    private void siftUp(int node, int slot) {
+        long key = keys[node];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = nodes[parentSlot];
+            if (keys[parent] <= key) break;
+            nodes[slot] = parent;
+            positions[parent] = slot;
+            slot = parentSlot;
+        }
+        nodes[slot] = node;
+        positions[node] = slot;
+    }
+
+    private void siftDown(int node, int slot) {
+        long key = keys[node];
+        int half = size >>> 1;
+        while (slot < half) {
+            int childSlot = 2 * slot + 1;
+            int child = nodes[childSlot];
+            int rightSlot = childSlot + 1;
+            if (rightSlot < size && keys[nodes[rightSlot]] < keys[child]) {
+                childSlot = rightSlot;
+                child = nodes[rightSlot];
+            }
+            if (key <= keys[child]) break;
+            nodes[slot] = child;
+            positions[child] = slot;
+            slot = childSlot;
+        }
+        nodes[slot] = node;
+        positions[node] = slot;
+    }
+}
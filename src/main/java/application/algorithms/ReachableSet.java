@@ -0,0 +1,13 @@
+package application.algorithms;
+
+/**
+ * Tiles reached from a source, as a bitset laid out like
+ * {@link domain.WalkabilityMask}: one run of words per row.
+ */
+public record ReachableSet(long[] bits, int width, int wordsPerRow, int size) {
+
+    public boolean contains(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= bits.length / wordsPerRow) return false;
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+}
@@ -0,0 +1,106 @@
+package application.algorithms;
+
+import application.interfaces.SearchMonitor;
+import application.interfaces.SearchStatistics;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-thread scratch state for index-based searches. Arrays are reused across
+ * queries; a generation stamp tells which entries belong to the current search,
+ * so nothing has to be cleared between two calls.
+ */
+public class SearchContext {
+
+    public static final int UNREACHED = Integer.MAX_VALUE;
+    public static final int NO_PARENT = -1;
+
+    private static final ThreadLocal<SearchContext> CURRENT = ThreadLocal.withInitial(SearchContext::new);
+    private static final ThreadLocal<SearchContext> REVERSE = ThreadLocal.withInitial(SearchContext::new);
+
+    private int[] distances = new int[0];
+    private int[] parents = new int[0];
+    private int[] stamps = new int[0];
+    private int generation;
+    private final IntMinHeap openSet = new IntMinHeap(0);
+    private final BucketQueue buckets = new BucketQueue();
+
+    public static SearchContext acquire(int nodeCount) {
+        SearchContext context = CURRENT.get();
+        context.prepare(nodeCount);
+        return context;
+    }
+
+    public static SearchContext acquireReverse(int nodeCount) {
+        SearchContext context = REVERSE.get();
+        context.prepare(nodeCount);
+        return context;
+    }
+
+    private void prepare(int nodeCount) {
+        if (stamps.length < nodeCount) {
+            distances = new int[nodeCount];
+            parents = new int[nodeCount];
+            stamps = new int[nodeCount];
+            generation = 0;
+            openSet.ensureCapacity(nodeCount);
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        openSet.clear();
+    }
+
+    public IntMinHeap openSet() {
+        return openSet;
+    }
+
+    public BucketQueue buckets(int maxCost) {
+        buckets.reset(maxCost);
+        return buckets;
+    }
+
+    public boolean isReached(int node) {
+        return stamps[node] == generation;
+    }
+
+    public int distance(int node) {
+        return stamps[node] == generation ? distances[node] : UNREACHED;
+    }
+
+    public int parent(int node) {
+        return stamps[node] == generation ? parents[node] : NO_PARENT;
+    }
+
+    public void update(int node, int distance, int parent) {
+        if (stamps[node] != generation) {
+            stamps[node] = generation;
+            openSet.forget(node);
+        }
+        distances[node] = distance;
+        parents[node] = parent;
+    }
+
+    /** Adds the open set's counters and the given expansion counts to the monitor's statistics, if it keeps any. */
+    public void report(SearchMonitor monitor, long expanded, long stalePops) {
+        SearchStatistics statistics = monitor.statistics();
+        if (statistics == null) return;
+        statistics.recordExpansions(expanded, stalePops);
+        statistics.recordQueue(openSet.pushes(), openSet.pops(), openSet.peakSize());
+    }
+
+    public List<Coordinate> buildPath(GameMap map, int target) {
+        List<Coordinate> path = new ArrayList<>();
+        for (int at = target; at != NO_PARENT; at = parent(at)) {
+            path.add(new Coordinate(map.xOf(at), map.yOf(at)));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
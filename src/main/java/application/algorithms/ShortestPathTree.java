@@ -0,0 +1,77 @@
+package application.algorithms;
+
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One-to-many Dijkstra: a single expansion from the start that stops once
+ * every goal is settled, then reads each route off the shared parent array.
+ */
+public class ShortestPathTree {
+
+    public static List<List<Coordinate>> paths(GameMap map, Coordinate start, List<Coordinate> goals) {
+        int width = map.getWidth();
+        int height = map.getHeight();
+        int source = map.indexOf(start.x(), start.y());
+
+        int[] targets = new int[goals.size()];
+        int pending = 0;
+        for (Coordinate goal : goals) {
+            int target = map.indexOf(goal.x(), goal.y());
+            if (map.getConnectivity().areConnected(source, target)) targets[pending++] = target;
+        }
+        Arrays.sort(targets, 0, pending);
+        pending = distinct(targets, pending);
+        int targetCount = pending;
+
+        SearchContext context = SearchContext.acquire(map.getTileCount());
+        IntMinHeap toVisit = context.openSet();
+        context.update(source, 0, SearchContext.NO_PARENT);
+        toVisit.push(source, 0);
+
+        while (pending > 0 && !toVisit.isEmpty()) {
+            int current = toVisit.poll();
+            if (Arrays.binarySearch(targets, 0, targetCount, current) >= 0) pending--;
+
+            int x = current % width;
+            int y = current / width;
+            int distance = context.distance(current);
+
+            if (y > 0) relax(map, context, current, current - width, distance);
+            if (y < height - 1) relax(map, context, current, current + width, distance);
+            if (x > 0) relax(map, context, current, current - 1, distance);
+            if (x < width - 1) relax(map, context, current, current + 1, distance);
+        }
+
+        List<List<Coordinate>> paths = new ArrayList<>(goals.size());
+        for (Coordinate goal : goals) {
+            int target = map.indexOf(goal.x(), goal.y());
+            boolean reached = Arrays.binarySearch(targets, 0, targetCount, target) >= 0 && context.isReached(target);
+            paths.add(reached ? context.buildPath(map, target) : null);
+        }
+        return paths;
+    }
+
+    private static void relax(GameMap map, SearchContext context, int current, int neighbor, int distance) {
+        int cost = map.getTraversalCost(neighbor);
+        if (cost == 0) return;
+
+        int tentativeDistance = distance + cost;
+        if (tentativeDistance < context.distance(neighbor)) {
+            context.update(neighbor, tentativeDistance, current);
+            context.openSet().push(neighbor, tentativeDistance);
+        }
+    }
+
+    private static int distinct(int[] sorted, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) sorted[count++] = sorted[i];
+        }
+        return count;
+    }
+}
@@ -1,27 +1,133 @@
 package application.components;
 
+import application.enums.TerrainStyle;
+import application.events.MapGenerationEvent;
 import domain.GameMap;
-import domain.MapCell;
 import domain.MapElementType;
+import domain.RowFiller;
 
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
+/**
+ * Rows are generated independently, each from its own random stream derived
+ * from the seed and the row index, so a seed always gives the same map
+ * whatever the number of threads.
+ */
 public class MapGenerator {
     private static final List<MapElementType> weights = List.of(
             MapElementType.HERBE, MapElementType.HERBE, MapElementType.HERBE, MapElementType.HERBE, MapElementType.HERBE, MapElementType.HERBE,
             MapElementType.ARBRE,
             MapElementType.EAU
     );
+    private static final byte[] WEIGHTED_CODES = new byte[weights.size()];
+
+    private static final int OCTAVES = 4;
+    private static final float WATER_LEVEL = 0.34f;
+    private static final float FOREST_LEVEL = 0.62f;
+    private static final double SCATTERED_TREES = 0.04;
+
+    static {
+        for (int i = 0; i < WEIGHTED_CODES.length; i++) {
+            WEIGHTED_CODES[i] = (byte) weights.get(i).ordinal();
+        }
+    }
 
     public static void generate(GameMap map) {
-        Random random = new Random();
-        for (int y = 0; y < map.getHeight(); y++) {
-            for (int x = 0; x < map.getWidth(); x++) {
-                MapElementType type = weights.get(random.nextInt(weights.size()));
-                map.setCell(x, y, new MapCell(x, y, type));
-            }
+        generate(map, new Random().nextLong());
+    }
+
+    public static void generate(GameMap map, long seed) {
+        generate(map, seed, TerrainStyle.RANDOM);
+    }
+
+    public static void generate(GameMap map, long seed, TerrainStyle style) {
+        MapGenerationEvent event = beginEvent(map, seed, style, true);
+        map.fillRows(rows(map, seed, style), true);
+        event.commit();
+    }
+
+    public static void generate(GameMap map, long seed, TerrainStyle style, int parallelism) {
+        MapGenerationEvent event = beginEvent(map, seed, style, parallelism > 1);
+        RowFiller filler = rows(map, seed, style);
+        if (parallelism <= 1) {
+            map.fillRows(filler, false);
+            event.commit();
+            return;
         }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> map.fillRows(filler, true)).join();
+        } finally {
+            pool.shutdown();
+        }
+        event.commit();
     }
-}
 
+    private static MapGenerationEvent beginEvent(GameMap map, long seed, TerrainStyle style, boolean parallel) {
+        MapGenerationEvent event = new MapGenerationEvent();
+        if (event.isEnabled()) {
+            event.mapWidth = map.getWidth();
+            event.mapHeight = map.getHeight();
+            event.seed = seed;
+            event.style = style.name();
+            event.parallel = parallel;
+        }
+        event.begin();
+        return event;
+    }
+
+    private static RowFiller rows(GameMap map, long seed, TerrainStyle style) {
+        return switch (style) {
+            case RANDOM -> randomRows(seed);
+            case NOISE -> noiseRows(map, seed);
+        };
+    }
+
+    private static RowFiller randomRows(long seed) {
+        return (y, row) -> {
+            SplittableRandom random = rowRandom(seed, y);
+            for (int x = 0; x < row.length; x++) {
+                row[x] = WEIGHTED_CODES[random.nextInt(WEIGHTED_CODES.length)];
+            }
+        };
+    }
+
+    // Lakes where the elevation field is low, forests where the vegetation field is high, and a few lone trees.
+    private static RowFiller noiseRows(GameMap map, long seed) {
+        int width = map.getWidth();
+        int baseScale = Math.clamp(Math.min(width, map.getHeight()) / 6, 4, 128);
+        TerrainNoise elevation = new TerrainNoise(seed, width, baseScale, OCTAVES);
+        TerrainNoise vegetation = new TerrainNoise(TerrainNoise.mix(seed), width, baseScale, OCTAVES);
+
+        byte water = (byte) MapElementType.EAU.ordinal();
+        byte tree = (byte) MapElementType.ARBRE.ordinal();
+        byte grass = (byte) MapElementType.HERBE.ordinal();
+
+        return (y, row) -> {
+            float[] heights = new float[width];
+            float[] forests = new float[width];
+            elevation.fillRow(y, heights);
+            vegetation.fillRow(y, forests);
+            SplittableRandom random = rowRandom(seed, y);
+
+            for (int x = 0; x < width; x++) {
+                boolean scatteredTree = random.nextDouble() < SCATTERED_TREES;
+                if (heights[x] < WATER_LEVEL) {
+                    row[x] = water;
+                } else if (forests[x] > FOREST_LEVEL || scatteredTree) {
+                    row[x] = tree;
+                } else {
+                    row[x] = grass;
+                }
+            }
+        };
+    }
+
+    private static SplittableRandom rowRandom(long seed, int y) {
+        return new SplittableRandom(TerrainNoise.mix(seed ^ (y * 0x9E3779B97F4A7C15L)));
+    }
+}
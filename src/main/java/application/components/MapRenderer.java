@@ -1,41 +1,194 @@
 package application.components;
 
+import application.events.MapRenderEvent;
 import domain.GameMap;
 import domain.MapElementType;
+import domain.TileChangeListener;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import lombok.Setter;
+import javafx.scene.image.PixelFormat;
 
-import java.util.Map;
+import java.util.Arrays;
 
-public class MapRenderer {
+/**
+ * Draws the terrain layer. The canvas keeps its pixels between frames, so it
+ * acts as the cached background: tiles whose type changes are queued as dirty
+ * and renderDirty repaints only those, while sprites and the path live on
+ * overlay canvases above it. A full render is needed after the viewport moves
+ * or when the whole map is reloaded.
+ * <p>
+ * Only tiles inside the {@link Viewport} are drawn. Zoomed far out, each
+ * canvas pixel takes the average colour of the tile under its centre.
+ */
+public class MapRenderer implements TileChangeListener {
 
     private final GameMap map;
     private final GraphicsContext graphics;
-    private final Map<MapElementType, Image> tileImages;
-    @Setter
-    private int tileSize;
+    private final TileAtlas atlas;
+    private final Viewport viewport;
 
-    public MapRenderer(GameMap map, GraphicsContext graphics, Map<MapElementType, Image> tileImages, int tileSize) {
+    private final boolean[] dirty;
+    private int[] dirtyQueue = new int[16];
+    private int dirtyCount;
+    private boolean fullRedrawNeeded = true;
+
+    private int[] pixels = new int[0];
+    private int[] columns = new int[0];
+
+    public MapRenderer(GameMap map, GraphicsContext graphics, TileAtlas atlas, Viewport viewport) {
         this.map = map;
         this.graphics = graphics;
-        this.tileImages = tileImages;
-        this.tileSize = tileSize;
+        this.atlas = atlas;
+        this.viewport = viewport;
+        this.dirty = new boolean[map.getTileCount()];
+        map.addTileChangeListener(this);
     }
 
-    public int tileSize() {
-        return tileSize;
+    public void detach() {
+        map.removeTileChangeListener(this);
+    }
+
+    @Override
+    public void onTileChanged(int x, int y, MapElementType previous, MapElementType current) {
+        markDirty(x, y);
+    }
+
+    @Override
+    public void onMapReloaded() {
+        fullRedrawNeeded = true;
+    }
+
+    public void markDirty(int x, int y) {
+        if (!map.isInside(x, y)) return;
+        int index = map.indexOf(x, y);
+        if (dirty[index]) return;
+        dirty[index] = true;
+        if (dirtyCount == dirtyQueue.length) dirtyQueue = Arrays.copyOf(dirtyQueue, dirtyCount * 2);
+        dirtyQueue[dirtyCount++] = index;
     }
 
     public void render() {
-        for (int y = 0; y < map.getHeight(); y++) {
-            for (int x = 0; x < map.getWidth(); x++) {
-                MapElementType type = map.getCell(x, y).getType();
-                Image img = tileImages.get(type);
-                if (img != null) {
-                    graphics.drawImage(img, x * tileSize, y * tileSize, tileSize, tileSize);
+        MapRenderEvent event = new MapRenderEvent();
+        event.begin();
+        long drawn = renderAll();
+        if (event.shouldCommit()) {
+            event.tilesDrawn = drawn;
+            event.pixelMode = !viewport.isDetailed();
+            event.commit();
+        }
+    }
+
+    /**
+     * Repaints the dirty tiles only, falling back to a full render when the
+     * map was reloaded since the last one.
+     */
+    public void renderDirty() {
+        MapRenderEvent event = new MapRenderEvent();
+        event.begin();
+        long drawn = renderDirtyTiles();
+        if (drawn > 0 && event.shouldCommit()) {
+            event.tilesDrawn = drawn;
+            event.dirtyOnly = true;
+            event.pixelMode = !viewport.isDetailed();
+            event.commit();
+        }
+    }
+
+    private long renderAll() {
+        graphics.clearRect(0, 0, viewport.viewWidth(), viewport.viewHeight());
+        long drawn = 0;
+        if (viewport.isDetailed()) {
+            int tileSize = viewport.tileSize();
+            atlas.setTileSize(tileSize);
+            for (int y = viewport.firstVisibleRow(); y <= viewport.lastVisibleRow(); y++) {
+                for (int x = viewport.firstVisibleColumn(); x <= viewport.lastVisibleColumn(); x++) {
+                    atlas.draw(graphics, terrainOf(map.getType(x, y)), viewport.screenX(x), viewport.screenY(y));
+                    drawn++;
+                }
+            }
+        } else {
+            drawn = renderPixels();
+        }
+        clearDirty();
+        fullRedrawNeeded = false;
+        return drawn;
+    }
+
+    private long renderDirtyTiles() {
+        if (fullRedrawNeeded) return renderAll();
+        if (!viewport.isDetailed()) {
+            // One pass over the canvas pixels is as cheap as locating the changed ones.
+            for (int i = 0; i < dirtyCount; i++) {
+                if (viewport.isVisible(map.xOf(dirtyQueue[i]), map.yOf(dirtyQueue[i]))) {
+                    return renderAll();
                 }
             }
+            clearDirty();
+            return 0;
+        }
+
+        int tileSize = viewport.tileSize();
+        long drawn = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            int index = dirtyQueue[i];
+            int x = map.xOf(index);
+            int y = map.yOf(index);
+            if (!viewport.isVisible(x, y)) continue;
+            double screenX = viewport.screenX(x);
+            double screenY = viewport.screenY(y);
+            graphics.clearRect(screenX, screenY, tileSize, tileSize);
+            atlas.draw(graphics, terrainOf(map.getType(index)), screenX, screenY);
+            drawn++;
+        }
+        clearDirty();
+        return drawn;
+    }
+
+    // One tile per canvas pixel, sampled at the pixel centre. Returns the number of pixels written.
+    private long renderPixels() {
+        int left = (int) Math.max(0, Math.ceil(viewport.screenX(0)));
+        int top = (int) Math.max(0, Math.ceil(viewport.screenY(0)));
+        int right = (int) Math.min(Math.floor(viewport.viewWidth()), Math.ceil(viewport.screenX(map.getWidth())));
+        int bottom = (int) Math.min(Math.floor(viewport.viewHeight()), Math.ceil(viewport.screenY(map.getHeight())));
+        int width = right - left;
+        int height = bottom - top;
+        if (width <= 0 || height <= 0) return 0;
+
+        if (pixels.length < width * height) pixels = new int[width * height];
+        if (columns.length < width) columns = new int[width];
+        for (int px = 0; px < width; px++) {
+            columns[px] = Math.min(map.getWidth() - 1, viewport.tileX(left + px + 0.5));
+        }
+
+        int[] colors = terrainColors();
+        int offset = 0;
+        for (int py = 0; py < height; py++) {
+            int row = Math.min(map.getHeight() - 1, viewport.tileY(top + py + 0.5)) * map.getWidth();
+            for (int px = 0; px < width; px++) {
+                pixels[offset++] = colors[map.getTypeCode(row + columns[px])];
+            }
+        }
+        graphics.getPixelWriter().setPixels(left, top, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return (long) width * height;
+    }
+
+    private int[] terrainColors() {
+        int[] averages = atlas.averageColors();
+        int[] colors = new int[averages.length];
+        for (MapElementType type : MapElementType.values()) {
+            colors[type.ordinal()] = averages[terrainOf(type).ordinal()];
+        }
+        return colors;
+    }
+
+    // Endpoints are drawn as sprites; the ground beneath them is grass.
+    private static MapElementType terrainOf(MapElementType type) {
+        return type == MapElementType.START || type == MapElementType.CHATEAU ? MapElementType.HERBE : type;
+    }
+
+    private void clearDirty() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirty[dirtyQueue[i]] = false;
         }
+        dirtyCount = 0;
     }
 }
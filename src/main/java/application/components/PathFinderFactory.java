@@ -0,0 +1,32 @@
+package application.components;
+
+import application.algorithms.AStarPathFinder;
+import application.algorithms.BidirectionalPathFinder;
+import application.algorithms.DStarLitePathFinder;
+import application.algorithms.DialPathFinder;
+import application.algorithms.DijkstraPathFinder;
+import application.algorithms.HierarchicalPathFinder;
+import application.algorithms.JumpPointSearchPathFinder;
+import application.enums.PathAlgorithm;
+import application.interfaces.PathFindingUseCase;
+
+public class PathFinderFactory {
+
+    /** The finder for an algorithm, emitting a JFR event for each query it answers. */
+    public static PathFindingUseCase create(PathAlgorithm algorithm) {
+        return new RecordedPathFinder(algorithm, createUnrecorded(algorithm));
+    }
+
+    public static PathFindingUseCase createUnrecorded(PathAlgorithm algorithm) {
+        return switch (algorithm) {
+            case DIJKSTRA -> new DijkstraPathFinder();
+            case ASTAR -> new AStarPathFinder();
+            case DIAL -> new DialPathFinder();
+            case JPS -> new JumpPointSearchPathFinder();
+            case BIDIRECTIONAL_DIJKSTRA -> new BidirectionalPathFinder(false);
+            case BIDIRECTIONAL_ASTAR -> new BidirectionalPathFinder(true);
+            case HPA_STAR -> new HierarchicalPathFinder();
+            case DSTAR_LITE -> new DStarLitePathFinder();
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package application.components;
+
+import domain.Coordinate;
+import domain.MapElementType;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import java.util.List;
+
+/**
+ * Draws the route on its own canvas above the terrain, so showing or
+ * clearing a path never touches the map itself. Steps outside the viewport
+ * are skipped; zoomed far out each step is a coloured block.
+ */
+public class PathOverlay {
+
+    private static final Color ROUTE_COLOR = Color.web("#e52521");
+
+    private final GraphicsContext graphics;
+    private final TileAtlas atlas;
+    private final Viewport viewport;
+    private List<Coordinate> path = List.of();
+    private int revealed;
+
+    public PathOverlay(GraphicsContext graphics, TileAtlas atlas, Viewport viewport) {
+        this.graphics = graphics;
+        this.atlas = atlas;
+        this.viewport = viewport;
+    }
+
+    public void show(List<Coordinate> path) {
+        clear();
+        this.path = path;
+    }
+
+    /** Draws the path tiles Mario has already walked past when he stands on step {@code index}. */
+    public void revealUpTo(int index) {
+        int last = Math.min(index - 1, path.size() - 2);
+        graphics.setFill(ROUTE_COLOR);
+        for (int i = revealed + 1; i <= last; i++) {
+            drawStep(i);
+        }
+        revealed = Math.max(revealed, last);
+    }
+
+    public void revealAll() {
+        revealUpTo(path.size());
+    }
+
+    public void clear() {
+        graphics.clearRect(0, 0, graphics.getCanvas().getWidth(), graphics.getCanvas().getHeight());
+        path = List.of();
+        revealed = 0;
+    }
+
+    /** Repaints the revealed part of the path, after the viewport moved. */
+    public void redraw() {
+        graphics.clearRect(0, 0, graphics.getCanvas().getWidth(), graphics.getCanvas().getHeight());
+        graphics.setFill(ROUTE_COLOR);
+        for (int i = 1; i <= revealed; i++) {
+            drawStep(i);
+        }
+    }
+
+    private void drawStep(int i) {
+        Coordinate current = path.get(i);
+        if (!viewport.isVisible(current.x(), current.y())) return;
+
+        double x = viewport.screenX(current.x());
+        double y = viewport.screenY(current.y());
+        if (viewport.isDetailed()) {
+            MapElementType type = PathInterpreter.determineTileType(path.get(i - 1), current, path.get(i + 1));
+            atlas.draw(graphics, type, x, y);
+        } else {
+            double size = Math.max(1, viewport.scale());
+            graphics.fillRect(Math.floor(x), Math.floor(y), size, size);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package application.components;
+
+import application.enums.PathAlgorithm;
+import application.events.PathSearchEvent;
+import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import application.interfaces.SearchStatistics;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Wraps a finder so that each query emits a {@link PathSearchEvent} to Java
+ * Flight Recorder. When no recording has the event enabled the query goes
+ * straight to the finder with the caller's monitor.
+ */
+public class RecordedPathFinder implements PathFindingUseCase {
+
+    private final PathAlgorithm algorithm;
+    private final PathFindingUseCase finder;
+
+    public RecordedPathFinder(PathAlgorithm algorithm, PathFindingUseCase finder) {
+        this.algorithm = algorithm;
+        this.finder = finder;
+    }
+
+    @Override
+    public List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor) {
+        PathSearchEvent event = new PathSearchEvent();
+        if (!event.isEnabled()) return finder.execute(map, start, goal, monitor);
+
+        SearchStatistics callerStatistics = monitor.statistics();
+        SearchStatistics statistics = callerStatistics != null ? callerStatistics : new SearchStatistics();
+        long expandedBefore = statistics.getExpandedNodes();
+        long[] lastProgress = new long[1];
+        SearchMonitor recording = new SearchMonitor() {
+            @Override
+            public void progress(long expandedNodes) {
+                lastProgress[0] = expandedNodes;
+                monitor.progress(expandedNodes);
+            }
+
+            @Override
+            public SearchStatistics statistics() {
+                return statistics;
+            }
+        };
+
+        event.begin();
+        List<Coordinate> path = null;
+        try {
+            path = finder.execute(map, start, goal, recording);
+            return path;
+        } catch (CancellationException e) {
+            event.cancelled = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm.name();
+                event.mapWidth = map.getWidth();
+                event.mapHeight = map.getHeight();
+                // Cancelled searches never fill in the statistics; the last checkpoint is the best count left.
+                long expanded = statistics.getExpandedNodes() - expandedBefore;
+                event.expandedNodes = event.cancelled ? Math.max(expanded, lastProgress[0]) : expanded;
+                event.pathLength = path != null ? path.size() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void detach() {
+        finder.detach();
+    }
+}
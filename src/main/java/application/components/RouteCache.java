@@ -0,0 +1,94 @@
+package application.components;
+
+import application.enums.PathAlgorithm;
+import domain.Coordinate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of computed routes. Keys carry the map version, so any tile
+ * edit makes older entries unreachable; they then age out of the LRU order.
+ * Routes with no path are cached as an empty list.
+ */
+public class RouteCache {
+
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+    private static final long BYTES_PER_STEP = 24;
+
+    public record RouteKey(long mapVersion, Coordinate start, Coordinate goal, PathAlgorithm algorithm) {
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<RouteKey, List<Coordinate>> routes = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public RouteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized List<Coordinate> get(RouteKey key) {
+        List<Coordinate> route = routes.get(key);
+        if (route == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return route;
+    }
+
+    public synchronized void put(RouteKey key, List<Coordinate> route) {
+        List<Coordinate> stored = route == null ? List.of() : List.copyOf(route);
+        long size = sizeOf(stored);
+        if (size > maxBytes) return;
+
+        List<Coordinate> previous = routes.put(key, stored);
+        if (previous != null) usedBytes -= sizeOf(previous);
+        usedBytes += size;
+
+        Iterator<Map.Entry<RouteKey, List<Coordinate>>> eldest = routes.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= sizeOf(eldest.next().getValue());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        routes.clear();
+        usedBytes = 0;
+    }
+
+    public synchronized int size() {
+        return routes.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private static long sizeOf(List<Coordinate> route) {
+        return ENTRY_OVERHEAD_BYTES + BYTES_PER_STEP * route.size();
+    }
+}
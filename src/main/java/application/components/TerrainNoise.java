@@ -0,0 +1,104 @@
+package application.components;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Fractal value noise in [0, 1), evaluated one row at a time. Lattice values
+ * are hashed from the seed and their coordinates, so any row can be computed
+ * on any thread and still give the same result.
+ */
+public class TerrainNoise {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private final long seed;
+    private final int width;
+    private final int[] scales;
+    private final float[] amplitudes;
+    // Per octave: the lattice column of each x, and its smoothed position inside that column.
+    private final int[][] columns;
+    private final float[][] weights;
+
+    public TerrainNoise(long seed, int width, int baseScale, int octaves) {
+        this.seed = seed;
+        this.width = width;
+        this.scales = new int[octaves];
+        this.amplitudes = new float[octaves];
+        this.columns = new int[octaves][width];
+        this.weights = new float[octaves][width];
+
+        float amplitude = 1f;
+        float total = 0f;
+        for (int octave = 0; octave < octaves; octave++) {
+            int scale = Math.max(1, baseScale >> octave);
+            scales[octave] = scale;
+            amplitudes[octave] = amplitude;
+            total += amplitude;
+            amplitude *= 0.5f;
+
+            for (int x = 0; x < width; x++) {
+                columns[octave][x] = x / scale;
+                weights[octave][x] = smooth((x % scale) / (float) scale);
+            }
+        }
+        for (int octave = 0; octave < octaves; octave++) {
+            amplitudes[octave] /= total;
+        }
+    }
+
+    public void fillRow(int y, float[] row) {
+        Arrays.fill(row, 0, width, 0f);
+
+        for (int octave = 0; octave < scales.length; octave++) {
+            int scale = scales[octave];
+            int latticeY = y / scale;
+            float weightY = smooth((y % scale) / (float) scale);
+
+            // Blend the two lattice rows once per column, then interpolate along x per tile.
+            int[] column = columns[octave];
+            float[] weight = weights[octave];
+            float[] lattice = new float[column[width - 1] + 2];
+            for (int cx = 0; cx < lattice.length; cx++) {
+                float top = latticeValue(octave, cx, latticeY);
+                float bottom = latticeValue(octave, cx, latticeY + 1);
+                lattice[cx] = top + (bottom - top) * weightY;
+            }
+
+            float amplitude = amplitudes[octave];
+            FloatVector gain = FloatVector.broadcast(SPECIES, amplitude);
+            int x = 0;
+            for (int bound = SPECIES.loopBound(width); x < bound; x += SPECIES.length()) {
+                FloatVector left = FloatVector.fromArray(SPECIES, lattice, 0, column, x);
+                FloatVector right = FloatVector.fromArray(SPECIES, lattice, 1, column, x);
+                FloatVector t = FloatVector.fromArray(SPECIES, weight, x);
+                FloatVector value = right.sub(left).fma(t, left);
+                value.fma(gain, FloatVector.fromArray(SPECIES, row, x)).intoArray(row, x);
+            }
+            for (; x < width; x++) {
+                float left = lattice[column[x]];
+                float right = lattice[column[x] + 1];
+                row[x] += (left + (right - left) * weight[x]) * amplitude;
+            }
+        }
+    }
+
+    private float latticeValue(int octave, int cx, int cy) {
+        long hash = mix(seed + octave * 0x9E3779B97F4A7C15L);
+        hash = mix(hash + cx * 0xC2B2AE3D27D4EB4FL);
+        hash = mix(hash + cy * 0x165667B19E3779F9L);
+        return (hash >>> 40) * 0x1.0p-24f;
+    }
+
+    private static float smooth(float t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,112 @@
+package application.components;
+
+import domain.MapElementType;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Map;
+
+/**
+ * Every tile image rasterized once at the current tile size into a single
+ * strip, indexed by type ordinal. Drawing a tile is then a 1:1 copy out of
+ * the strip instead of rescaling the source image on every call. The
+ * average colour of each image stands in for the tile when zoomed far out.
+ */
+public class TileAtlas {
+
+    private final Map<MapElementType, Image> sources;
+    private final boolean[] present = new boolean[MapElementType.values().length];
+    private int[] colors;
+    private WritableImage strip;
+    private int tileSize;
+
+    public TileAtlas(Map<MapElementType, Image> sources) {
+        this.sources = sources;
+        for (MapElementType type : MapElementType.values()) {
+            present[type.ordinal()] = sources.get(type) != null;
+        }
+    }
+
+    public int tileSize() {
+        return tileSize;
+    }
+
+    public void setTileSize(int tileSize) {
+        if (tileSize == this.tileSize && strip != null) return;
+        this.tileSize = tileSize;
+        if (tileSize <= 0) {
+            strip = null;
+            return;
+        }
+
+        MapElementType[] types = MapElementType.values();
+        Canvas canvas = new Canvas(types.length * tileSize, tileSize);
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        for (MapElementType type : types) {
+            Image image = sources.get(type);
+            if (image != null) {
+                graphics.drawImage(image, type.ordinal() * tileSize, 0, tileSize, tileSize);
+            }
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        strip = canvas.snapshot(parameters, null);
+    }
+
+    public void draw(GraphicsContext graphics, MapElementType type, double x, double y) {
+        if (strip == null || !present[type.ordinal()]) return;
+        graphics.drawImage(strip, type.ordinal() * tileSize, 0, tileSize, tileSize, x, y, tileSize, tileSize);
+    }
+
+    /** Draws a tile at any size, scaling the source image when it is not the atlas size. */
+    public void draw(GraphicsContext graphics, MapElementType type, double x, double y, double size) {
+        if (size == tileSize) {
+            draw(graphics, type, x, y);
+        } else if (present[type.ordinal()]) {
+            graphics.drawImage(sources.get(type), x, y, size, size);
+        }
+    }
+
+    /** Opaque ARGB average of each tile image, indexed by type ordinal. */
+    public int[] averageColors() {
+        if (colors == null) {
+            MapElementType[] types = MapElementType.values();
+            int[] averages = new int[types.length];
+            for (MapElementType type : types) {
+                Image image = sources.get(type);
+                averages[type.ordinal()] = image != null ? averageColor(image) : 0xFF808080;
+            }
+            colors = averages;
+        }
+        return colors;
+    }
+
+    private static int averageColor(Image image) {
+        PixelReader reader = image.getPixelReader();
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        if (reader == null || width == 0 || height == 0) return 0xFF808080;
+
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        long weight = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int argb = reader.getArgb(x, y);
+                int alpha = argb >>> 24;
+                red += (long) alpha * ((argb >> 16) & 0xFF);
+                green += (long) alpha * ((argb >> 8) & 0xFF);
+                blue += (long) alpha * (argb & 0xFF);
+                weight += alpha;
+            }
+        }
+        if (weight == 0) return 0xFF808080;
+        return 0xFF000000 | (int) (red / weight) << 16 | (int) (green / weight) << 8 | (int) (blue / weight);
+    }
+}
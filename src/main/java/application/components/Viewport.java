@@ -0,0 +1,148 @@
+package application.components;
+
+/**
+ * The visible part of the map: a zoom level in pixels per tile and the
+ * offset, in scaled map pixels, of the canvas's top-left corner. Renderers
+ * ask it which tiles intersect the canvas, so their cost follows the canvas
+ * size and not the map size.
+ * <p>
+ * From {@link #DETAIL_SCALE} pixels per tile up the scale is kept integral
+ * so tiles are drawn from the atlas without seams; below it the map is
+ * drawn one pixel at a time.
+ */
+public class Viewport {
+
+    public static final double DETAIL_SCALE = 4;
+    public static final double MAX_SCALE = 64;
+
+    private int mapWidth = 1;
+    private int mapHeight = 1;
+    private double viewWidth;
+    private double viewHeight;
+    private double scale = 1;
+    private double offsetX;
+    private double offsetY;
+
+    public void setMapSize(int mapWidth, int mapHeight) {
+        this.mapWidth = mapWidth;
+        this.mapHeight = mapHeight;
+        clamp();
+    }
+
+    public void setViewSize(double viewWidth, double viewHeight) {
+        this.viewWidth = Math.max(0, viewWidth);
+        this.viewHeight = Math.max(0, viewHeight);
+        scale = Math.max(scale, minScale());
+        clamp();
+    }
+
+    public double scale() {
+        return scale;
+    }
+
+    public double viewWidth() {
+        return viewWidth;
+    }
+
+    public double viewHeight() {
+        return viewHeight;
+    }
+
+    public boolean isDetailed() {
+        return scale >= DETAIL_SCALE;
+    }
+
+    /** Tile size in pixels when the view is detailed. */
+    public int tileSize() {
+        return (int) scale;
+    }
+
+    /** Shows the whole map, centered. */
+    public void fit() {
+        scale = minScale();
+        clamp();
+    }
+
+    /** Zooms by {@code factor}, keeping the map point under the given canvas pixel in place. */
+    public void zoomAt(double factor, double screenX, double screenY) {
+        double mapX = (screenX + offsetX) / scale;
+        double mapY = (screenY + offsetY) / scale;
+
+        double next = scale * factor;
+        if (next >= DETAIL_SCALE) {
+            long rounded = Math.round(next);
+            if (rounded == scale) rounded += factor > 1 ? 1 : -1;
+            next = rounded;
+        }
+        scale = Math.clamp(next, minScale(), Math.max(MAX_SCALE, minScale()));
+
+        offsetX = mapX * scale - screenX;
+        offsetY = mapY * scale - screenY;
+        clamp();
+    }
+
+    public void panBy(double dx, double dy) {
+        offsetX -= dx;
+        offsetY -= dy;
+        clamp();
+    }
+
+    public double screenX(double tileX) {
+        return tileX * scale - offsetX;
+    }
+
+    public double screenY(double tileY) {
+        return tileY * scale - offsetY;
+    }
+
+    public int tileX(double screenX) {
+        return (int) Math.floor((screenX + offsetX) / scale);
+    }
+
+    public int tileY(double screenY) {
+        return (int) Math.floor((screenY + offsetY) / scale);
+    }
+
+    public int firstVisibleColumn() {
+        return Math.max(0, tileX(0));
+    }
+
+    public int lastVisibleColumn() {
+        return Math.min(mapWidth - 1, tileX(viewWidth - 1e-9));
+    }
+
+    public int firstVisibleRow() {
+        return Math.max(0, tileY(0));
+    }
+
+    public int lastVisibleRow() {
+        return Math.min(mapHeight - 1, tileY(viewHeight - 1e-9));
+    }
+
+    public boolean isVisible(int tileX, int tileY) {
+        return tileX >= firstVisibleColumn() && tileX <= lastVisibleColumn()
+                && tileY >= firstVisibleRow() && tileY <= lastVisibleRow();
+    }
+
+    // Whole map on screen; integral once tiles are large enough to draw images.
+    private double minScale() {
+        if (viewWidth <= 0 || viewHeight <= 0) return scale;
+        double fit = Math.min(viewWidth / mapWidth, viewHeight / mapHeight);
+        return fit >= DETAIL_SCALE ? Math.floor(fit) : fit;
+    }
+
+    // Centers the map along an axis where it fits, otherwise keeps the canvas inside it.
+    private void clamp() {
+        offsetX = clampAxis(offsetX, mapWidth * scale, viewWidth);
+        offsetY = clampAxis(offsetY, mapHeight * scale, viewHeight);
+        if (isDetailed()) {
+            offsetX = Math.round(offsetX);
+            offsetY = Math.round(offsetY);
+        }
+    }
+
+    private static double clampAxis(double offset, double content, double view) {
+        if (content <= view) return -Math.floor((view - content) / 2);
+        return Math.clamp(offset, 0, content - view);
+    }
+}
@@ -2,5 +2,11 @@ package application.enums;
 
 public enum PathAlgorithm {
     DIJKSTRA,
-    ASTAR
+    ASTAR,
+    DIAL,
+    JPS,
+    BIDIRECTIONAL_DIJKSTRA,
+    BIDIRECTIONAL_ASTAR,
+    HPA_STAR,
+    DSTAR_LITE
 }
@@ -0,0 +1,6 @@
+package application.enums;
+
+public enum TerrainStyle {
+    RANDOM,
+    NOISE
+}
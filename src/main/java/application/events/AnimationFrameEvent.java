@@ -0,0 +1,23 @@
+package application.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("mariogps.AnimationFrame")
+@Label("Animation Frame")
+@Category({"Mario GPS", "Rendering"})
+@StackTrace(false)
+public class AnimationFrameEvent extends Event {
+
+    @Label("Step")
+    public int step;
+
+    @Label("Path Length")
+    public int pathLength;
+
+    @Label("Speed")
+    public double speed;
+}
@@ -0,0 +1,28 @@
+package application.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("mariogps.MapExport")
+@Label("Map Export")
+@Category({"Mario GPS", "Map"})
+@StackTrace(false)
+public class MapExportEvent extends Event {
+
+    @Label("Format")
+    public String format;
+
+    @Label("Map Width")
+    public int mapWidth;
+
+    @Label("Map Height")
+    public int mapHeight;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,29 @@
+package application.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("mariogps.MapGeneration")
+@Label("Map Generation")
+@Category({"Mario GPS", "Map"})
+@StackTrace(false)
+public class MapGenerationEvent extends Event {
+
+    @Label("Map Width")
+    public int mapWidth;
+
+    @Label("Map Height")
+    public int mapHeight;
+
+    @Label("Seed")
+    public long seed;
+
+    @Label("Style")
+    public String style;
+
+    @Label("Parallel")
+    public boolean parallel;
+}
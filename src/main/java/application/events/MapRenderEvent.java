@@ -0,0 +1,27 @@
+package application.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("mariogps.MapRender")
+@Label("Map Render")
+@Category({"Mario GPS", "Rendering"})
+@Description("One pass of the terrain layer, full or limited to dirty tiles")
+@StackTrace(false)
+public class MapRenderEvent extends Event {
+
+    @Label("Tiles Drawn")
+    @Description("Tiles drawn from the atlas, or canvas pixels written when zoomed far out")
+    public long tilesDrawn;
+
+    @Label("Dirty Only")
+    public boolean dirtyOnly;
+
+    @Label("Pixel Mode")
+    @Description("Zoomed out far enough to draw one colour per pixel")
+    public boolean pixelMode;
+}
@@ -0,0 +1,35 @@
+package application.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("mariogps.PathSearch")
+@Label("Path Search")
+@Category({"Mario GPS", "Search"})
+@Description("One path query answered by a finder")
+@StackTrace(false)
+public class PathSearchEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Map Width")
+    public int mapWidth;
+
+    @Label("Map Height")
+    public int mapHeight;
+
+    @Label("Expanded Nodes")
+    public long expandedNodes;
+
+    @Label("Path Length")
+    @Description("Number of tiles on the path, 0 when none was found")
+    public int pathLength;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+}
@@ -6,5 +6,13 @@ import domain.GameMap;
 import java.util.List;
 
 public interface PathFindingUseCase {
-    List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal);
+    default List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal) {
+        return execute(map, start, goal, SearchMonitor.NONE);
+    }
+
+    List<Coordinate> execute(GameMap map, Coordinate start, Coordinate goal, SearchMonitor monitor);
+
+    /** Stops following the edits of the last map searched, for finders that keep state about it. */
+    default void detach() {
+    }
 }
@@ -0,0 +1,27 @@
+package application.interfaces;
+
+/**
+ * Follows a running search. Finders call {@link #progress} every
+ * {@value #PROGRESS_INTERVAL} expanded nodes; a monitor abandons the search by
+ * throwing {@link java.util.concurrent.CancellationException} from it. A
+ * monitor that returns a {@link SearchStatistics} gets it filled in once the
+ * search ends.
+ */
+@FunctionalInterface
+public interface SearchMonitor {
+
+    int PROGRESS_INTERVAL = 4096;
+
+    SearchMonitor NONE = expandedNodes -> {
+    };
+
+    void progress(long expandedNodes);
+
+    default SearchStatistics statistics() {
+        return null;
+    }
+
+    static boolean isCheckpoint(long expandedNodes) {
+        return (expandedNodes & (PROGRESS_INTERVAL - 1)) == 0;
+    }
+}
@@ -0,0 +1,63 @@
+package application.interfaces;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Counters a finder fills in when its monitor asks for them. Finders that run
+ * several searches for one query (bidirectional, hierarchical) add them up;
+ * the peak open set is that of the largest single queue. Stale pops are queue
+ * entries skipped because a shorter distance superseded them.
+ */
+@Getter
+public class SearchStatistics {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private long expandedNodes;
+    private long pushes;
+    private long pops;
+    private long stalePops;
+    private long peakOpenSet;
+    private long allocatedBytes;
+    private long wallNanos;
+
+    public void recordExpansions(long expandedNodes, long stalePops) {
+        this.expandedNodes += expandedNodes;
+        this.stalePops += stalePops;
+    }
+
+    public void recordQueue(long pushes, long pops, long peakSize) {
+        this.pushes += pushes;
+        this.pops += pops;
+        this.peakOpenSet = Math.max(peakOpenSet, peakSize);
+    }
+
+    /** Runs the search on the current thread, adding its wall time and the bytes it allocated. */
+    public <T> T measure(Supplier<T> search) {
+        long bytesBefore = currentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return search.get();
+        } finally {
+            wallNanos += System.nanoTime() - start;
+            long bytesAfter = currentThreadAllocatedBytes();
+            if (bytesBefore >= 0 && bytesAfter >= 0) allocatedBytes += bytesAfter - bytesBefore;
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package application.usecases;
+
+import application.algorithms.ShortestPathTree;
+import application.components.PathFinderFactory;
+import application.enums.PathAlgorithm;
+import application.interfaces.PathFindingUseCase;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Solves many origin/destination pairs against one map in parallel. Queries
+ * sharing a start are answered by a single one-to-many expansion once there
+ * are enough of them; the others go through the chosen algorithm. The map
+ * must not be edited while a batch runs.
+ * <p>
+ * Workers share one finder per algorithm: the plain searches keep their
+ * buffers per thread, and HPA* and D* Lite keep a single abstraction or
+ * planner per map, which {@link #close()} detaches.
+ */
+public class BatchRoutingUseCase implements AutoCloseable {
+
+    private static final int ONE_TO_MANY_THRESHOLD = 4;
+
+    public record RouteQuery(Coordinate start, Coordinate goal) {
+    }
+
+    public record BatchResult(List<List<Coordinate>> routes, long elapsedNanos, int parallelism, int oneToManyExpansions) {
+        public double routesPerSecond() {
+            return elapsedNanos == 0 ? 0 : routes.size() * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final Map<PathAlgorithm, PathFindingUseCase> finders = new ConcurrentHashMap<>();
+
+    public BatchRoutingUseCase() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchRoutingUseCase(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public BatchResult execute(GameMap map, List<RouteQuery> queries, PathAlgorithm algorithm) {
+        long startTime = System.nanoTime();
+        AtomicReferenceArray<List<Coordinate>> routes = new AtomicReferenceArray<>(queries.size());
+
+        Map<Coordinate, List<Integer>> bySource = new LinkedHashMap<>();
+        for (int i = 0; i < queries.size(); i++) {
+            bySource.computeIfAbsent(queries.get(i).start(), _ -> new ArrayList<>()).add(i);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        int expansions = 0;
+        for (Map.Entry<Coordinate, List<Integer>> group : bySource.entrySet()) {
+            List<Integer> indices = group.getValue();
+            if (indices.size() >= ONE_TO_MANY_THRESHOLD) {
+                expansions++;
+                tasks.add(() -> {
+                    List<Coordinate> goals = indices.stream().map(i -> queries.get(i).goal()).toList();
+                    List<List<Coordinate>> paths = ShortestPathTree.paths(map, group.getKey(), goals);
+                    for (int k = 0; k < indices.size(); k++) {
+                        routes.set(indices.get(k), paths.get(k));
+                    }
+                    return null;
+                });
+            } else {
+                for (int index : indices) {
+                    tasks.add(() -> {
+                        RouteQuery query = queries.get(index);
+                        PathFindingUseCase finder = finders.computeIfAbsent(algorithm, PathFinderFactory::create);
+                        routes.set(index, finder.execute(map, query.start(), query.goal()));
+                        return null;
+                    });
+                }
+            }
+        }
+
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            await(future);
+        }
+
+        List<List<Coordinate>> ordered = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            ordered.add(routes.get(i));
+        }
+        return new BatchResult(ordered, System.nanoTime() - startTime, pool.getParallelism(), expansions);
+    }
+
+    private static void await(Future<Void> future) {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Route computation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch routing interrupted", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        finders.values().forEach(PathFindingUseCase::detach);
+        finders.clear();
+    }
+}
@@ -0,0 +1,233 @@
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * Labels every walkable tile with the id of its connected region, so that two
+ * tiles in different regions are known to be unreachable without searching.
+ * <p>
+ * Labels are merged through a union-find when a tile opens up. When a tile is
+ * blocked, its neighbours are explored in lock-step until all but one of the
+ * resulting pieces are closed off; only those smaller pieces get a new label.
+ */
+public class ConnectivityIndex implements TileChangeListener {
+
+    public static final int BLOCKED = -1;
+
+    private final GameMap map;
+    private final int[] labels;
+    private int[] parents = new int[16];
+    private int labelCount;
+
+    private final int[] visits;
+    private int visitBase;
+    private final int[][] queues = new int[4][16];
+    private final int[] heads = new int[4];
+    private final int[] tails = new int[4];
+    private final int[] groups = new int[4];
+
+    public ConnectivityIndex(GameMap map) {
+        this.map = map;
+        this.labels = new int[map.getTileCount()];
+        this.visits = new int[map.getTileCount()];
+        rebuild();
+    }
+
+    public synchronized boolean areConnected(int a, int b) {
+        int labelA = labels[a];
+        int labelB = labels[b];
+        return labelA != BLOCKED && labelB != BLOCKED && find(labelA) == find(labelB);
+    }
+
+    public synchronized boolean areConnected(Coordinate a, Coordinate b) {
+        return areConnected(map.indexOf(a.x(), a.y()), map.indexOf(b.x(), b.y()));
+    }
+
+    public synchronized int componentOf(int tile) {
+        return labels[tile] == BLOCKED ? BLOCKED : find(labels[tile]);
+    }
+
+    @Override
+    public synchronized void onTileChanged(int x, int y, MapElementType previous, MapElementType current) {
+        if (previous.isWalkable() == current.isWalkable()) return;
+
+        int tile = map.indexOf(x, y);
+        if (current.isWalkable()) {
+            open(tile, x, y);
+        } else {
+            block(tile, x, y);
+        }
+        if (labelCount > 2 * labels.length + 16) rebuild();
+    }
+
+    @Override
+    public synchronized void onMapReloaded() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        Arrays.fill(labels, BLOCKED);
+        labelCount = 0;
+        int[] queue = queues[0];
+
+        for (int start = 0; start < labels.length; start++) {
+            if (labels[start] != BLOCKED || map.getTraversalCost(start) == 0) continue;
+
+            int label = newLabel();
+            labels[start] = label;
+            int head = 0;
+            int tail = 0;
+            queue = push(queue, tail++, start);
+
+            while (head < tail) {
+                int tile = queue[head++];
+                int x = map.xOf(tile);
+                int y = map.yOf(tile);
+                for (int direction = 0; direction < 4; direction++) {
+                    int neighbor = neighbor(tile, x, y, direction);
+                    if (neighbor < 0 || labels[neighbor] != BLOCKED || map.getTraversalCost(neighbor) == 0) continue;
+                    labels[neighbor] = label;
+                    queue = push(queue, tail++, neighbor);
+                }
+            }
+        }
+        queues[0] = queue;
+    }
+
+    private void open(int tile, int x, int y) {
+        int root = BLOCKED;
+        for (int direction = 0; direction < 4; direction++) {
+            int neighbor = neighbor(tile, x, y, direction);
+            if (neighbor < 0 || labels[neighbor] == BLOCKED) continue;
+
+            int other = find(labels[neighbor]);
+            if (root == BLOCKED) {
+                root = other;
+            } else if (other != root) {
+                parents[other] = root;
+            }
+        }
+        labels[tile] = root == BLOCKED ? newLabel() : root;
+    }
+
+    private void block(int tile, int x, int y) {
+        labels[tile] = BLOCKED;
+
+        if (visitBase > Integer.MAX_VALUE - 8) {
+            Arrays.fill(visits, 0);
+            visitBase = 0;
+        }
+        visitBase += 4;
+
+        int searches = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            int neighbor = neighbor(tile, x, y, direction);
+            if (neighbor < 0 || labels[neighbor] == BLOCKED) continue;
+            if (visits[neighbor] >= visitBase) continue;
+
+            visits[neighbor] = visitBase + searches;
+            queues[searches] = push(queues[searches], 0, neighbor);
+            heads[searches] = 0;
+            tails[searches] = 1;
+            groups[searches] = searches;
+            searches++;
+        }
+        if (searches < 2) return;
+
+        while (openGroupCount(searches) > 1) {
+            for (int s = 0; s < searches; s++) {
+                if (heads[s] < tails[s]) step(s);
+            }
+        }
+
+        int keeper = -1;
+        for (int s = 0; s < searches; s++) {
+            int group = groupOf(s);
+            if (heads[s] < tails[s]) keeper = group;
+        }
+        if (keeper < 0) keeper = groupOf(0);
+
+        for (int s = 0; s < searches; s++) {
+            int group = groupOf(s);
+            if (group == keeper || s != group) continue;
+
+            int label = newLabel();
+            for (int member = 0; member < searches; member++) {
+                if (groupOf(member) != group) continue;
+                for (int i = 0; i < tails[member]; i++) {
+                    labels[queues[member][i]] = label;
+                }
+            }
+        }
+    }
+
+    private void step(int search) {
+        int tile = queues[search][heads[search]++];
+        int x = map.xOf(tile);
+        int y = map.yOf(tile);
+
+        for (int direction = 0; direction < 4; direction++) {
+            int neighbor = neighbor(tile, x, y, direction);
+            if (neighbor < 0 || labels[neighbor] == BLOCKED) continue;
+
+            int visit = visits[neighbor];
+            if (visit < visitBase) {
+                visits[neighbor] = visitBase + search;
+                queues[search] = push(queues[search], tails[search]++, neighbor);
+            } else {
+                int other = groupOf(visit - visitBase);
+                int own = groupOf(search);
+                if (other != own) groups[Math.max(other, own)] = Math.min(other, own);
+            }
+        }
+    }
+
+    // Number of groups that still have a search with tiles left to explore.
+    private int openGroupCount(int searches) {
+        int open = 0;
+        int seen = 0;
+        for (int s = 0; s < searches; s++) {
+            if (heads[s] >= tails[s]) continue;
+            int group = groupOf(s);
+            if ((seen & (1 << group)) == 0) {
+                seen |= 1 << group;
+                open++;
+            }
+        }
+        return open;
+    }
+
+    private int groupOf(int search) {
+        while (groups[search] != search) search = groups[search];
+        return search;
+    }
+
+    private int neighbor(int tile, int x, int y, int direction) {
+        return switch (direction) {
+            case 0 -> y > 0 ? tile - map.getWidth() : -1;
+            case 1 -> y < map.getHeight() - 1 ? tile + map.getWidth() : -1;
+            case 2 -> x > 0 ? tile - 1 : -1;
+            default -> x < map.getWidth() - 1 ? tile + 1 : -1;
+        };
+    }
+
+    private int newLabel() {
+        if (labelCount == parents.length) parents = Arrays.copyOf(parents, labelCount * 2);
+        parents[labelCount] = labelCount;
+        return labelCount++;
+    }
+
+    private int find(int label) {
+        while (parents[label] != label) {
+            parents[label] = parents[parents[label]];
+            label = parents[label];
+        }
+        return label;
+    }
+
+    private static int[] push(int[] queue, int position, int value) {
+        if (position == queue.length) queue = Arrays.copyOf(queue, queue.length * 2);
+        queue[position] = value;
+        return queue;
+    }
+}
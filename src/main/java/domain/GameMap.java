@@ -1,24 +1,194 @@
 package domain;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
 @Getter
 public class GameMap {
-    private final MapCell[][] cells;
+    private static final MapElementType[] TYPES = MapElementType.values();
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] tiles;
+    @Getter(AccessLevel.NONE)
+    private final int[] typeCounts = new int[TYPES.length];
+    @Getter(AccessLevel.NONE)
+    private final List<TileChangeListener> listeners = new CopyOnWriteArrayList<>();
+    @Getter(AccessLevel.NONE)
+    private volatile ConnectivityIndex connectivity;
+    @Getter(AccessLevel.NONE)
+    private volatile WalkabilityMask walkability;
     private final int width;
     private final int height;
+    private volatile long version;
 
     public GameMap(int width, int height) {
         this.width = width;
         this.height = height;
-        this.cells = new MapCell[height][width];
+        this.tiles = new byte[width * height];
+        this.typeCounts[0] = tiles.length;
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    public int indexOf(int x, int y) {
+        return y * width + x;
+    }
+
+    public int xOf(int index) {
+        return index % width;
+    }
+
+    public int yOf(int index) {
+        return index / width;
+    }
+
+    public boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public MapElementType getType(int x, int y) {
+        return TYPES[tiles[indexOf(x, y)]];
+    }
+
+    public MapElementType getType(int index) {
+        return TYPES[tiles[index]];
+    }
+
+    public byte getTypeCode(int index) {
+        return tiles[index];
+    }
+
+    public int getTraversalCost(int index) {
+        return MapElementType.costOf(tiles[index]);
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return isInside(x, y) && getTraversalCost(indexOf(x, y)) > 0;
+    }
+
+    public int getMinTraversalCost() {
+        int min = 0;
+        for (MapElementType type : TYPES) {
+            if (typeCounts[type.ordinal()] > 0 && type.isWalkable() && (min == 0 || type.getTraversalCost() < min)) {
+                min = type.getTraversalCost();
+            }
+        }
+        return min;
+    }
+
+    public void setType(int x, int y, MapElementType type) {
+        int index = indexOf(x, y);
+        MapElementType previous = TYPES[tiles[index]];
+        if (previous == type) return;
+
+        typeCounts[previous.ordinal()]--;
+        typeCounts[type.ordinal()]++;
+        tiles[index] = (byte) type.ordinal();
+        version++;
+
+        for (TileChangeListener listener : listeners) {
+            listener.onTileChanged(x, y, previous, type);
+        }
+    }
+
+    /**
+     * Rewrites every row at once. Rows are filled independently, in parallel
+     * if asked, and listeners get a single reload notification instead of one
+     * event per tile.
+     */
+    public void fillRows(RowFiller filler, boolean parallel) {
+        int[] counts = new int[TYPES.length];
+        IntStream rows = IntStream.range(0, height);
+        if (parallel) rows = rows.parallel();
+
+        rows.forEach(y -> {
+            byte[] row = new byte[width];
+            filler.fill(y, row);
+
+            int[] rowCounts = new int[TYPES.length];
+            for (int x = 0; x < width; x++) {
+                int code = row[x];
+                if (code < 0 || code >= TYPES.length) throw new IllegalArgumentException("Unknown tile code " + code);
+                rowCounts[code]++;
+            }
+            System.arraycopy(row, 0, tiles, indexOf(0, y), width);
+            synchronized (counts) {
+                for (int i = 0; i < rowCounts.length; i++) counts[i] += rowCounts[i];
+            }
+        });
+
+        System.arraycopy(counts, 0, typeCounts, 0, counts.length);
+        version++;
+        for (TileChangeListener listener : listeners) {
+            listener.onMapReloaded();
+        }
+    }
+
+    /**
+     * Copies the tiles into a new map without listeners. A copy taken while
+     * another thread edits the map may mix tiles from before and after an edit.
+     */
+    public GameMap copy() {
+        GameMap copy = new GameMap(width, height);
+        copy.version = version;
+        System.arraycopy(tiles, 0, copy.tiles, 0, tiles.length);
+        copy.typeCounts[0] = 0;
+        for (byte code : copy.tiles) {
+            copy.typeCounts[code]++;
+        }
+        return copy;
+    }
+
+    public void addTileChangeListener(TileChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeTileChangeListener(TileChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public ConnectivityIndex getConnectivity() {
+        ConnectivityIndex index = connectivity;
+        if (index == null) {
+            synchronized (this) {
+                if (connectivity == null) {
+                    long builtAt = version;
+                    ConnectivityIndex built = new ConnectivityIndex(this);
+                    addTileChangeListener(built);
+                    // An edit made while the index was built, before it listened, is caught up here.
+                    if (version != builtAt) built.onMapReloaded();
+                    connectivity = built;
+                }
+                index = connectivity;
+            }
+        }
+        return index;
     }
 
-    public void setCell(int x, int y, MapCell cell) {
-        cells[y][x] = cell;
+    public WalkabilityMask getWalkability() {
+        WalkabilityMask mask = walkability;
+        if (mask == null) {
+            synchronized (this) {
+                if (walkability == null) {
+                    long builtAt = version;
+                    WalkabilityMask built = new WalkabilityMask(this);
+                    addTileChangeListener(built);
+                    if (version != builtAt) built.onMapReloaded();
+                    walkability = built;
+                }
+                mask = walkability;
+            }
+        }
+        return mask;
     }
 
     public MapCell getCell(int x, int y) {
-        return cells[y][x];
+        return new MapCell(this, x, y);
     }
 }
@@ -1,14 +1,22 @@
 package domain;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
 @Getter
-@Setter
 @AllArgsConstructor
 public class MapCell {
-    private int x;
-    private int y;
-    private MapElementType type;
+    @Getter(AccessLevel.NONE)
+    private final GameMap map;
+    private final int x;
+    private final int y;
+
+    public MapElementType getType() {
+        return map.getType(x, y);
+    }
+
+    public void setType(MapElementType type) {
+        map.setType(x, y, type);
+    }
 }
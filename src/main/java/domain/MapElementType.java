@@ -1,13 +1,55 @@
 package domain;
 
+import lombok.Getter;
+
+@Getter
 public enum MapElementType {
-    HERBE,
-    ARBRE,
-    EAU,
-    NOEUD,
-    ARRETE_HORIZONTAL,
-    ARRETE_VERTICAL,
-    CHATEAU,
-    START,
-    MARIO,
+    HERBE(2),
+    ARBRE(0),
+    EAU(6),
+    NOEUD(1),
+    ARRETE_HORIZONTAL(1),
+    ARRETE_VERTICAL(1),
+    CHATEAU(2),
+    START(2),
+    MARIO(0);
+
+    private static final int[] COSTS_BY_CODE = new int[values().length];
+    private static final int MIN_TRAVERSAL_COST;
+    private static final int MAX_TRAVERSAL_COST;
+
+    static {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (MapElementType type : values()) {
+            COSTS_BY_CODE[type.ordinal()] = type.traversalCost;
+            if (type.isWalkable()) min = Math.min(min, type.traversalCost);
+            max = Math.max(max, type.traversalCost);
+        }
+        MIN_TRAVERSAL_COST = min;
+        MAX_TRAVERSAL_COST = max;
+    }
+
+    /** Cost of stepping onto a tile of this type; 0 means the tile cannot be entered. */
+    private final int traversalCost;
+
+    MapElementType(int traversalCost) {
+        this.traversalCost = traversalCost;
+    }
+
+    public boolean isWalkable() {
+        return traversalCost > 0;
+    }
+
+    public static int costOf(byte code) {
+        return COSTS_BY_CODE[code];
+    }
+
+    public static int minTraversalCost() {
+        return MIN_TRAVERSAL_COST;
+    }
+
+    public static int maxTraversalCost() {
+        return MAX_TRAVERSAL_COST;
+    }
 }
@@ -0,0 +1,6 @@
+package domain;
+
+@FunctionalInterface
+public interface RowFiller {
+    void fill(int y, byte[] row);
+}
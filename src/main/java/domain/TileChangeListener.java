@@ -0,0 +1,7 @@
+package domain;
+
+public interface TileChangeListener {
+    void onTileChanged(int x, int y, MapElementType previous, MapElementType current);
+
+    void onMapReloaded();
+}
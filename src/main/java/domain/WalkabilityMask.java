@@ -0,0 +1,71 @@
+package domain;
+
+/**
+ * One bit per tile, set when the tile can be entered. Each row starts on a
+ * fresh word so that neighbours above and below sit at the same bit of the
+ * adjacent row; the padding bits past the right edge stay clear.
+ * <p>
+ * The mask follows the map as a {@link TileChangeListener}. Searches work on
+ * a {@link #snapshot()} and never hold the lock while they run.
+ */
+public class WalkabilityMask implements TileChangeListener {
+
+    private final GameMap map;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    public WalkabilityMask(GameMap map) {
+        this.map = map;
+        this.wordsPerRow = wordsPerRow(map.getWidth());
+        this.words = new long[wordsPerRow * map.getHeight()];
+        rebuild();
+    }
+
+    public static int wordsPerRow(int width) {
+        return (width + 63) >>> 6;
+    }
+
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    public synchronized boolean isWalkable(int x, int y) {
+        return (words[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    public synchronized long[] snapshot() {
+        return words.clone();
+    }
+
+    @Override
+    public synchronized void onTileChanged(int x, int y, MapElementType previous, MapElementType current) {
+        int word = y * wordsPerRow + (x >>> 6);
+        if (current.isWalkable()) {
+            words[word] |= 1L << x;
+        } else {
+            words[word] &= ~(1L << x);
+        }
+    }
+
+    @Override
+    public synchronized void onMapReloaded() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        int width = map.getWidth();
+        for (int y = 0; y < map.getHeight(); y++) {
+            int rowStart = map.indexOf(0, y);
+            int rowWord = y * wordsPerRow;
+            for (int word = 0; word < wordsPerRow; word++) {
+                int first = word << 6;
+                int last = Math.min(width, first + 64);
+                long bits = 0;
+                for (int x = first; x < last; x++) {
+                    if (map.getTraversalCost(rowStart + x) != 0) bits |= 1L << x;
+                }
+                words[rowWord + word] = bits;
+            }
+        }
+    }
+}
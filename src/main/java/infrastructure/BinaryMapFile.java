@@ -0,0 +1,199 @@
+package infrastructure;
+
+import application.events.MapExportEvent;
+import domain.GameMap;
+import domain.MapElementType;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary map file, read and written through memory-mapped buffers.
+ * <p>
+ * A 24-byte header holds the magic "MGPS", the format version, flags, the
+ * width, the height and the payload length. The payload is either the tile
+ * codes packed two per byte (low nibble first), or, with {@link #FLAG_RLE},
+ * runs of one code byte followed by the run length as an unsigned LEB128
+ * varint. Runs follow the row-major tile order and may span rows. The writer
+ * only compresses when it makes the file smaller.
+ */
+public class BinaryMapFile {
+
+    public static final String EXTENSION = ".mgps";
+
+    private static final int MAGIC = 0x4D475053;
+    private static final short FORMAT_VERSION = 1;
+    private static final short FLAG_RLE = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int TYPE_COUNT = MapElementType.values().length;
+
+    public static void write(GameMap map, Path file, boolean compress) throws IOException {
+        MapExportEvent event = new MapExportEvent();
+        event.begin();
+        long packedSize = (map.getTileCount() + 1L) / 2;
+        long rleSize = compress ? rleSize(map) : Long.MAX_VALUE;
+        boolean rle = rleSize < packedSize;
+        long payloadSize = rle ? rleSize : packedSize;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + payloadSize);
+            buffer.putInt(MAGIC);
+            buffer.putShort(FORMAT_VERSION);
+            buffer.putShort(rle ? FLAG_RLE : 0);
+            buffer.putInt(map.getWidth());
+            buffer.putInt(map.getHeight());
+            buffer.putLong(payloadSize);
+
+            if (rle) {
+                writeRuns(map, buffer);
+            } else {
+                writePacked(map, buffer);
+            }
+            buffer.force();
+        }
+        if (event.shouldCommit()) {
+            event.format = rle ? "MGPS RLE" : "MGPS";
+            event.mapWidth = map.getWidth();
+            event.mapHeight = map.getHeight();
+            event.bytes = HEADER_SIZE + payloadSize;
+            event.commit();
+        }
+    }
+
+    public static GameMap read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("Not a map file: " + file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a map file: " + file);
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported map file version " + version + ": " + file);
+            short flags = buffer.getShort();
+            if ((flags & ~FLAG_RLE) != 0) throw new IOException("Unknown map file flags " + flags + ": " + file);
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            long payloadSize = buffer.getLong();
+            if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+                throw new IOException("Invalid map size " + width + "x" + height + ": " + file);
+            }
+            if (payloadSize != size - HEADER_SIZE) throw new IOException("Truncated map file: " + file);
+
+            GameMap map = new GameMap(width, height);
+            if ((flags & FLAG_RLE) != 0) {
+                readRuns(map, buffer);
+            } else {
+                readPacked(map, buffer, payloadSize);
+            }
+            return map;
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Corrupted map file: " + file, e);
+        }
+    }
+
+    private static void writePacked(GameMap map, ByteBuffer buffer) {
+        int tileCount = map.getTileCount();
+        for (int index = 0; index < tileCount; index += 2) {
+            int low = map.getTypeCode(index);
+            int high = index + 1 < tileCount ? map.getTypeCode(index + 1) : 0;
+            buffer.put((byte) (low | high << 4));
+        }
+    }
+
+    private static void readPacked(GameMap map, ByteBuffer buffer, long payloadSize) throws IOException {
+        if (payloadSize != (map.getTileCount() + 1L) / 2) throw new IOException("Invalid packed payload size " + payloadSize);
+        int width = map.getWidth();
+
+        // Absolute reads only, so rows can be decoded concurrently.
+        map.fillRows((y, row) -> {
+            int first = map.indexOf(0, y);
+            int offset = first >> 1;
+            byte[] packed = new byte[((first + width + 1) >> 1) - offset];
+            buffer.get(HEADER_SIZE + offset, packed);
+
+            for (int x = 0, index = first; x < width; x++, index++) {
+                int pair = packed[(index >> 1) - offset];
+                row[x] = (byte) ((index & 1) == 0 ? pair & 0x0F : (pair >> 4) & 0x0F);
+            }
+        }, true);
+    }
+
+    private static long rleSize(GameMap map) {
+        long size = 0;
+        int tileCount = map.getTileCount();
+        for (int index = 0; index < tileCount; ) {
+            int length = runLength(map, index);
+            size += 1 + varIntSize(length);
+            index += length;
+        }
+        return size;
+    }
+
+    private static void writeRuns(GameMap map, ByteBuffer buffer) {
+        int tileCount = map.getTileCount();
+        for (int index = 0; index < tileCount; ) {
+            int length = runLength(map, index);
+            buffer.put(map.getTypeCode(index));
+            for (int value = length; ; value >>>= 7) {
+                if ((value & ~0x7F) == 0) {
+                    buffer.put((byte) value);
+                    break;
+                }
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+            }
+            index += length;
+        }
+    }
+
+    // Runs span rows, so the rows are decoded in order on this thread.
+    private static void readRuns(GameMap map, ByteBuffer buffer) throws IOException {
+        int[] run = new int[2];
+        map.fillRows((y, row) -> {
+            int x = 0;
+            while (x < row.length) {
+                if (run[1] == 0) {
+                    run[0] = buffer.get();
+                    run[1] = readVarInt(buffer);
+                    if (run[0] < 0 || run[0] >= TYPE_COUNT || run[1] <= 0) {
+                        throw new IllegalArgumentException("Invalid run at offset " + buffer.position());
+                    }
+                }
+                int length = Math.min(run[1], row.length - x);
+                Arrays.fill(row, x, x + length, (byte) run[0]);
+                x += length;
+                run[1] -= length;
+            }
+        }, false);
+        if (run[1] != 0 || buffer.hasRemaining()) throw new IOException("Run lengths do not match the map size");
+    }
+
+    private static int runLength(GameMap map, int index) {
+        byte code = map.getTypeCode(index);
+        int end = index + 1;
+        while (end < map.getTileCount() && map.getTypeCode(end) == code) end++;
+        return end - index;
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte next = buffer.get();
+            value |= (next & 0x7F) << shift;
+            if (next >= 0) return value;
+        }
+        throw new IllegalArgumentException("Run length too long at offset " + buffer.position());
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) size++;
+        return size;
+    }
+}
@@ -1,7 +1,7 @@
 package infrastructure;
 
 import domain.GameMap;
-import domain.MapCell;
+import domain.MapElementType;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
@@ -10,13 +10,13 @@ public class GeoJsonExporter {
     public static JSONObject export(GameMap map) {
         JSONObject geoJson = new JSONObject();
         geoJson.put("type", "FeatureCollection");
+        geoJson.put("bbox", new JSONArray().put(0).put(0).put(map.getWidth() - 1).put(map.getHeight() - 1));
 
         JSONArray features = new JSONArray();
 
         for (int y = 0; y < map.getHeight(); y++) {
             for (int x = 0; x < map.getWidth(); x++) {
-                MapCell cell = map.getCell(x, y);
-                features.put(createFeature(x, y, cell));
+                features.put(createFeature(x, y, map.getType(x, y)));
             }
         }
 
@@ -24,7 +24,7 @@ public class GeoJsonExporter {
         return geoJson;
     }
 
-    private static JSONObject createFeature(int x, int y, MapCell cell) {
+    private static JSONObject createFeature(int x, int y, MapElementType type) {
         JSONObject feature = new JSONObject();
         feature.put("type", "Feature");
 
@@ -34,7 +34,7 @@ public class GeoJsonExporter {
         feature.put("geometry", geometry);
 
         JSONObject properties = new JSONObject();
-        properties.put("type", cell.getType().name());
+        properties.put("type", type.name());
         properties.put("x", x);
         properties.put("y", y);
         feature.put("properties", properties);
@@ -0,0 +1,248 @@
+package infrastructure;
+
+import domain.GameMap;
+import domain.MapElementType;
+import infrastructure.JsonTokenizer.Token;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a GeoJSON export back into a map without building a JSON tree.
+ * Each feature is placed from its "type", "x", "y" and, for merged
+ * exports, "length" properties; a Point without x/y properties falls back
+ * to its coordinates.
+ * <p>
+ * The map size comes from the collection's bbox when it precedes the
+ * features, as {@link GeoJsonWriter} writes it; the bbox must start at 0,0.
+ * Otherwise a first pass over the file measures the extent of the features.
+ */
+public class GeoJsonImporter {
+
+    private static final MapElementType[] TYPES = MapElementType.values();
+
+    private final Path file;
+    private double[] bbox;
+    private GameMap map;
+    private int maxX = -1;
+    private int maxY = -1;
+    private int featureIndex;
+
+    // Current feature
+    private boolean polygon;
+    private int typeCode;
+    private long x;
+    private long y;
+    private long length;
+    private long pointX;
+    private long pointY;
+
+    private GeoJsonImporter(Path file) {
+        this.file = file;
+    }
+
+    public static GameMap read(Path file) throws IOException {
+        return new GeoJsonImporter(file).read();
+    }
+
+    private GameMap read() throws IOException {
+        if (!parse(false)) {
+            if (maxX < 0) throw new IOException("No tiles in " + file);
+            if ((maxX + 1L) * (maxY + 1L) > Integer.MAX_VALUE) throw new IOException("Map too large in " + file);
+            allocate(maxX + 1, maxY + 1);
+            parse(true);
+        }
+        if (map == null) throw new IOException("No tiles in " + file);
+        return map;
+    }
+
+    /**
+     * Returns true when the tiles were placed during this pass, which needs
+     * the map size to be known before the first feature.
+     */
+    private boolean parse(boolean place) throws IOException {
+        featureIndex = 0;
+        try (InputStream input = Files.newInputStream(file); JsonTokenizer json = new JsonTokenizer(input)) {
+            if (json.next() != Token.BEGIN_OBJECT) throw json.error("Expected a FeatureCollection object");
+
+            for (Token token = json.next(); token != Token.END_OBJECT; token = json.next()) {
+                if (token != Token.NAME) throw json.error("Expected a member name");
+                if (json.textEquals("bbox") && !place) {
+                    readBbox(json);
+                } else if (json.textEquals("features")) {
+                    if (json.next() != Token.BEGIN_ARRAY) throw json.error("Expected the features array");
+                    place |= bbox != null;
+                    for (token = json.next(); token != Token.END_ARRAY; token = json.next()) {
+                        readFeature(json, token);
+                        if (place) {
+                            placeFeature(json);
+                        } else {
+                            measureFeature(json);
+                        }
+                        featureIndex++;
+                    }
+                } else {
+                    json.skipValue(json.next());
+                }
+            }
+        }
+        return place;
+    }
+
+    private void readBbox(JsonTokenizer json) throws IOException {
+        if (json.next() != Token.BEGIN_ARRAY) throw json.error("Expected the bbox array");
+        double[] values = new double[4];
+        int count = 0;
+        for (Token token = json.next(); token != Token.END_ARRAY; token = json.next()) {
+            if (token != Token.NUMBER || count == 4) throw json.error("Invalid bbox");
+            values[count++] = json.doubleValue();
+        }
+        if (count != 4) throw json.error("Only two-dimensional bbox are supported");
+        // Tile positions are read as map indices, so the map has to start at the origin.
+        if (values[0] != 0 || values[1] != 0) throw json.error("Only bbox starting at 0,0 are supported");
+        bbox = values;
+    }
+
+    private void readFeature(JsonTokenizer json, Token first) throws IOException {
+        if (first != Token.BEGIN_OBJECT) throw json.error("Expected a feature object");
+        polygon = false;
+        typeCode = -1;
+        x = y = pointX = pointY = -1;
+        length = 1;
+
+        for (Token token = json.next(); token != Token.END_OBJECT; token = json.next()) {
+            if (token != Token.NAME) throw json.error("Expected a member name");
+            if (json.textEquals("geometry")) {
+                readGeometry(json);
+            } else if (json.textEquals("properties")) {
+                readProperties(json);
+            } else {
+                json.skipValue(json.next());
+            }
+        }
+    }
+
+    private void readGeometry(JsonTokenizer json) throws IOException {
+        Token token = json.next();
+        if (token == Token.NULL) return;
+        if (token != Token.BEGIN_OBJECT) throw json.error("Expected a geometry object");
+
+        for (token = json.next(); token != Token.END_OBJECT; token = json.next()) {
+            if (token != Token.NAME) throw json.error("Expected a member name");
+            if (json.textEquals("type")) {
+                if (json.next() != Token.STRING) throw json.error("Expected the geometry type");
+                polygon = json.textEquals("Polygon");
+            } else if (json.textEquals("coordinates")) {
+                readCoordinates(json);
+            } else {
+                json.skipValue(json.next());
+            }
+        }
+    }
+
+    // Only a Point's own position is kept; longer coordinate lists are skipped.
+    private void readCoordinates(JsonTokenizer json) throws IOException {
+        Token token = json.next();
+        if (token != Token.BEGIN_ARRAY) throw json.error("Expected coordinates");
+        token = json.next();
+        if (token == Token.END_ARRAY) return;
+        if (token != Token.NUMBER) {
+            json.skipValue(token);
+            json.skipValue(Token.BEGIN_ARRAY);
+            return;
+        }
+        pointX = json.longValue();
+        if (json.next() != Token.NUMBER) throw json.error("Expected a y coordinate");
+        pointY = json.longValue();
+        for (token = json.next(); token != Token.END_ARRAY; token = json.next()) {
+            json.skipValue(token);
+        }
+    }
+
+    private void readProperties(JsonTokenizer json) throws IOException {
+        Token token = json.next();
+        if (token == Token.NULL) return;
+        if (token != Token.BEGIN_OBJECT) throw json.error("Expected a properties object");
+
+        for (token = json.next(); token != Token.END_OBJECT; token = json.next()) {
+            if (token != Token.NAME) throw json.error("Expected a member name");
+            if (json.textEquals("type")) {
+                if (json.next() != Token.STRING) throw json.error("Expected the tile type");
+                typeCode = codeOf(json);
+            } else if (json.textEquals("x")) {
+                x = readInteger(json);
+            } else if (json.textEquals("y")) {
+                y = readInteger(json);
+            } else if (json.textEquals("length")) {
+                length = readInteger(json);
+            } else {
+                json.skipValue(json.next());
+            }
+        }
+    }
+
+    private long readInteger(JsonTokenizer json) throws IOException {
+        if (json.next() != Token.NUMBER || !json.isIntegral()) throw json.error("Expected an integer");
+        return json.longValue();
+    }
+
+    private void measureFeature(JsonTokenizer json) throws IOException {
+        validateFeature(json, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        maxX = (int) Math.max(maxX, featureX() + length - 1);
+        maxY = (int) Math.max(maxY, featureY());
+    }
+
+    private void placeFeature(JsonTokenizer json) throws IOException {
+        if (map == null) {
+            // Polygons cover their tiles, so their bbox ends one tile further than points do.
+            boolean cells = polygon;
+            int width = (int) Math.round(bbox[2]) + (cells ? 0 : 1);
+            int height = (int) Math.round(bbox[3]) + (cells ? 0 : 1);
+            if (width <= 0 || height <= 0 || (long) width * height > Integer.MAX_VALUE) {
+                throw json.error("Invalid bbox size " + width + "x" + height);
+            }
+            allocate(width, height);
+        }
+        validateFeature(json, map.getWidth(), map.getHeight());
+
+        // The map has no listeners yet, so each tile is a plain write.
+        MapElementType type = TYPES[typeCode];
+        int featureX = (int) featureX();
+        int featureY = (int) featureY();
+        for (int i = 0; i < length; i++) {
+            map.setType(featureX + i, featureY, type);
+        }
+    }
+
+    private void validateFeature(JsonTokenizer json, int width, int height) throws IOException {
+        long featureX = featureX();
+        long featureY = featureY();
+        if (featureX < 0 || featureY < 0) throw json.error("Feature " + featureIndex + " has no position");
+        if (length < 1 || featureX + length > width || featureY >= height) {
+            throw json.error("Feature " + featureIndex + " at " + featureX + "," + featureY
+                    + " (length " + length + ") is outside the " + width + "x" + height + " map");
+        }
+        if (typeCode < 0) throw json.error("Feature " + featureIndex + " has no tile type");
+    }
+
+    private int codeOf(JsonTokenizer json) throws IOException {
+        for (MapElementType type : TYPES) {
+            if (json.textEquals(type.name())) return type.ordinal();
+        }
+        throw json.error("Feature " + featureIndex + " has an unknown tile type " + json.text());
+    }
+
+    private long featureX() {
+        return x >= 0 ? x : pointX;
+    }
+
+    private long featureY() {
+        return y >= 0 ? y : pointY;
+    }
+
+    private void allocate(int width, int height) {
+        map = new GameMap(width, height);
+    }
+}
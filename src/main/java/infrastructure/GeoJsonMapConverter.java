@@ -0,0 +1,29 @@
+package infrastructure;
+
+import domain.GameMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Converts a GeoJSON export into a {@link BinaryMapFile}.
+ * <p>
+ * Usage: {@code GeoJsonMapConverter <input.geojson> <output.mgps> [--rle]}
+ */
+public class GeoJsonMapConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : GeoJsonMapConverter <entrée.geojson> <sortie" + BinaryMapFile.EXTENSION + "> [--rle]");
+            System.exit(1);
+        }
+        boolean compress = args.length > 2 && args[2].equals("--rle");
+
+        long startTime = System.nanoTime();
+        GameMap map = GeoJsonImporter.read(Path.of(args[0]));
+        BinaryMapFile.write(map, Path.of(args[1]), compress);
+        System.out.printf("Carte %dx%d convertie en %.1f ms (%d octets)%n", map.getWidth(), map.getHeight(),
+                (System.nanoTime() - startTime) / 1_000_000.0, Files.size(Path.of(args[1])));
+    }
+}
@@ -0,0 +1,292 @@
+package infrastructure;
+
+import application.events.MapExportEvent;
+import domain.GameMap;
+import domain.MapElementType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a map as GeoJSON straight into a channel through a fixed-size
+ * buffer, so memory use does not grow with the map.
+ * <p>
+ * Without merging every tile is a Point feature, as in {@link GeoJsonExporter}.
+ * Merging turns each horizontal run of same-type tiles into one feature: a
+ * MultiPoint of its tiles, or a Polygon covering them, where tile (x, y)
+ * is the unit square from (x, y) to (x + 1, y + 1).
+ */
+public class GeoJsonWriter {
+
+    public enum Merge {
+        NONE,
+        MULTI_POINT,
+        POLYGON
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_DEPTH = 8;
+    private static final byte[][] TYPE_NAMES = new byte[MapElementType.values().length][];
+
+    static {
+        for (MapElementType type : MapElementType.values()) {
+            TYPE_NAMES[type.ordinal()] = type.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final WritableByteChannel channel;
+    private final boolean pretty;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final boolean[] firstInScope = new boolean[MAX_DEPTH];
+    private final byte[] digits = new byte[11];
+    private int depth;
+    private boolean afterKey;
+    private long bytesWritten;
+
+    private GeoJsonWriter(WritableByteChannel channel, boolean pretty) {
+        this.channel = channel;
+        this.pretty = pretty;
+    }
+
+    public static void write(GameMap map, Path file, boolean pretty, Merge merge) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(map, channel, pretty, merge);
+        }
+    }
+
+    public static void write(GameMap map, WritableByteChannel channel, boolean pretty, Merge merge) throws IOException {
+        MapExportEvent event = new MapExportEvent();
+        event.begin();
+        GeoJsonWriter writer = new GeoJsonWriter(channel, pretty);
+        writer.writeMap(map, merge);
+        if (event.shouldCommit()) {
+            event.format = "GeoJSON " + merge.name();
+            event.mapWidth = map.getWidth();
+            event.mapHeight = map.getHeight();
+            event.bytes = writer.bytesWritten;
+            event.commit();
+        }
+    }
+
+    private void writeMap(GameMap map, Merge merge) throws IOException {
+        beginObject();
+        key("type");
+        string("FeatureCollection");
+        if (map.getTileCount() > 0) {
+            // Points sit on tile origins, polygons cover whole tiles.
+            int extent = merge == Merge.POLYGON ? 0 : 1;
+            key("bbox");
+            beginArray();
+            number(0);
+            number(0);
+            number(map.getWidth() - extent);
+            number(map.getHeight() - extent);
+            endArray();
+        }
+        key("features");
+        beginArray();
+
+        int width = map.getWidth();
+        for (int y = 0; y < map.getHeight(); y++) {
+            int rowStart = map.indexOf(0, y);
+            int x = 0;
+            while (x < width) {
+                byte code = map.getTypeCode(rowStart + x);
+                int length = 1;
+                if (merge != Merge.NONE) {
+                    while (x + length < width && map.getTypeCode(rowStart + x + length) == code) length++;
+                }
+                writeFeature(code, x, y, length, merge);
+                x += length;
+            }
+        }
+
+        endArray();
+        endObject();
+        if (pretty) put('\n');
+        flush();
+    }
+
+    private void writeFeature(byte code, int x, int y, int length, Merge merge) throws IOException {
+        beginObject();
+        key("type");
+        string("Feature");
+
+        key("geometry");
+        beginObject();
+        key("type");
+        switch (merge) {
+            case NONE -> {
+                string("Point");
+                key("coordinates");
+                pair(x, y);
+            }
+            case MULTI_POINT -> {
+                string("MultiPoint");
+                key("coordinates");
+                beginArray();
+                for (int i = 0; i < length; i++) {
+                    pair(x + i, y);
+                }
+                endArray();
+            }
+            case POLYGON -> {
+                string("Polygon");
+                key("coordinates");
+                beginArray();
+                beginArray();
+                pair(x, y);
+                pair(x + length, y);
+                pair(x + length, y + 1);
+                pair(x, y + 1);
+                pair(x, y);
+                endArray();
+                endArray();
+            }
+        }
+        endObject();
+
+        key("properties");
+        beginObject();
+        key("type");
+        beforeValue();
+        put('"');
+        put(TYPE_NAMES[code]);
+        put('"');
+        key("x");
+        number(x);
+        key("y");
+        number(y);
+        if (merge != Merge.NONE) {
+            key("length");
+            number(length);
+        }
+        endObject();
+
+        endObject();
+    }
+
+    private void beginObject() throws IOException {
+        beforeValue();
+        put('{');
+        firstInScope[++depth] = true;
+    }
+
+    private void endObject() throws IOException {
+        closeScope('}');
+    }
+
+    private void beginArray() throws IOException {
+        beforeValue();
+        put('[');
+        firstInScope[++depth] = true;
+    }
+
+    private void endArray() throws IOException {
+        closeScope(']');
+    }
+
+    private void closeScope(char bracket) throws IOException {
+        boolean empty = firstInScope[depth--];
+        if (!empty) newLine();
+        put(bracket);
+    }
+
+    private void key(String name) throws IOException {
+        beforeValue();
+        quoted(name);
+        put(':');
+        if (pretty) put(' ');
+        afterKey = true;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterKey) {
+            afterKey = false;
+            return;
+        }
+        if (depth == 0) return;
+        if (!firstInScope[depth]) put(',');
+        firstInScope[depth] = false;
+        newLine();
+    }
+
+    private void newLine() throws IOException {
+        if (!pretty) return;
+        put('\n');
+        for (int i = 0; i < depth; i++) {
+            put(' ');
+            put(' ');
+        }
+    }
+
+    // Coordinate pairs stay on one line even in pretty mode.
+    private void pair(int x, int y) throws IOException {
+        beforeValue();
+        put('[');
+        digits(x);
+        put(',');
+        if (pretty) put(' ');
+        digits(y);
+        put(']');
+    }
+
+    private void number(int value) throws IOException {
+        beforeValue();
+        digits(value);
+    }
+
+    private void string(String value) throws IOException {
+        beforeValue();
+        quoted(value);
+    }
+
+    private void quoted(String value) throws IOException {
+        put('"');
+        for (int i = 0; i < value.length(); i++) {
+            put(value.charAt(i));
+        }
+        put('"');
+    }
+
+    private void digits(int value) throws IOException {
+        if (value < 0) {
+            put('-');
+            value = -value;
+        }
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensureRoom(digits.length - position);
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    private void put(char value) throws IOException {
+        ensureRoom(1);
+        buffer.put((byte) value);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        ensureRoom(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
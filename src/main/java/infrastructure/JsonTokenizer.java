@@ -0,0 +1,297 @@
+package infrastructure;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pull tokenizer over a JSON byte stream. It keeps one read buffer and one
+ * text buffer, so memory does not depend on the document size. Separators
+ * are checked only loosely: the caller is expected to know the structure it
+ * reads.
+ */
+public class JsonTokenizer implements Closeable {
+
+    public enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long consumed;
+    private int depth;
+
+    private byte[] text = new byte[64];
+    private int textLength;
+    private long integer;
+    private boolean integral;
+    private boolean bool;
+
+    public JsonTokenizer(InputStream input) {
+        this.input = input;
+    }
+
+    public Token next() throws IOException {
+        int c = skipSeparators();
+        switch (c) {
+            case -1 -> {
+                if (depth > 0) throw error("Unexpected end of document");
+                return Token.END_DOCUMENT;
+            }
+            case '{' -> {
+                depth++;
+                return Token.BEGIN_OBJECT;
+            }
+            case '}' -> {
+                depth--;
+                return Token.END_OBJECT;
+            }
+            case '[' -> {
+                depth++;
+                return Token.BEGIN_ARRAY;
+            }
+            case ']' -> {
+                depth--;
+                return Token.END_ARRAY;
+            }
+            case '"' -> {
+                readString();
+                if (skipWhitespace() == ':') {
+                    position++;
+                    return Token.NAME;
+                }
+                return Token.STRING;
+            }
+            case 't' -> {
+                expectLiteral("rue");
+                bool = true;
+                return Token.BOOLEAN;
+            }
+            case 'f' -> {
+                expectLiteral("alse");
+                bool = false;
+                return Token.BOOLEAN;
+            }
+            case 'n' -> {
+                expectLiteral("ull");
+                return Token.NULL;
+            }
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber(c);
+                    return Token.NUMBER;
+                }
+                throw error("Unexpected character '" + (char) c + "'");
+            }
+        }
+    }
+
+    /**
+     * Skips the value starting with the given token, including everything
+     * nested inside it.
+     */
+    public void skipValue(Token first) throws IOException {
+        int depth = 0;
+        Token token = first;
+        while (true) {
+            switch (token) {
+                case BEGIN_OBJECT, BEGIN_ARRAY -> depth++;
+                case END_OBJECT, END_ARRAY -> depth--;
+                case END_DOCUMENT -> {
+                    return;
+                }
+                default -> {
+                }
+            }
+            if (depth <= 0) return;
+            token = next();
+        }
+    }
+
+    public String text() {
+        return new String(text, 0, textLength, StandardCharsets.UTF_8);
+    }
+
+    public boolean textEquals(String expected) {
+        if (expected.length() != textLength) return false;
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    public long longValue() {
+        return integral ? integer : (long) doubleValue();
+    }
+
+    public double doubleValue() {
+        return integral ? integer : Double.parseDouble(new String(text, 0, textLength, StandardCharsets.US_ASCII));
+    }
+
+    public boolean booleanValue() {
+        return bool;
+    }
+
+    public long getOffset() {
+        return consumed + position;
+    }
+
+    public IOException error(String message) {
+        return new IOException(message + " at byte " + getOffset());
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private void readString() throws IOException {
+        textLength = 0;
+        while (true) {
+            // Copy plain runs straight from the read buffer.
+            int start = position;
+            while (position < limit && buffer[position] != '"' && buffer[position] != '\\') position++;
+            if (position > start) {
+                ensureText(position - start);
+                System.arraycopy(buffer, start, text, textLength, position - start);
+                textLength += position - start;
+            }
+
+            int c = read();
+            if (c == -1) throw error("Unterminated string");
+            if (c == '"') return;
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'n' -> c = '\n';
+                    case 't' -> c = '\t';
+                    case 'r' -> c = '\r';
+                    case 'b' -> c = '\b';
+                    case 'f' -> c = '\f';
+                    case 'u' -> {
+                        appendCodePoint(readHex());
+                        continue;
+                    }
+                    case '"', '\\', '/' -> {
+                    }
+                    default -> throw error("Invalid escape");
+                }
+            }
+            append(c);
+        }
+    }
+
+    private int readHex() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) throw error("Invalid unicode escape");
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private void appendCodePoint(int codePoint) {
+        byte[] encoded = String.valueOf((char) codePoint).getBytes(StandardCharsets.UTF_8);
+        for (byte b : encoded) append(b);
+    }
+
+    private void readNumber(int first) throws IOException {
+        textLength = 0;
+        append(first);
+        integral = true;
+        boolean negative = first == '-';
+        long value = negative ? 0 : first - '0';
+        int digits = negative ? 0 : 1;
+
+        while (true) {
+            int c = peek();
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                integral = false;
+            } else {
+                break;
+            }
+            append(c);
+            position++;
+        }
+        if (digits == 0) throw error("Invalid number");
+        if (digits > 18) integral = false;
+        integer = negative ? -value : value;
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) throw error("Invalid literal");
+        }
+    }
+
+    private void append(int c) {
+        ensureText(1);
+        text[textLength++] = (byte) c;
+    }
+
+    private void ensureText(int extra) {
+        if (textLength + extra > text.length) text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + extra));
+    }
+
+    private int skipSeparators() throws IOException {
+        while (true) {
+            int c = read();
+            if (c != ',' && c != ':' && c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            position++;
+        }
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) position++;
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        int read;
+        do {
+            read = input.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) return false;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package infrastructure;
+
+import java.nio.file.Path;
+
+public interface MapExportListener {
+
+    record ExportReport(Path file, long mapVersion, int coalescedRequests, long bytes, long elapsedNanos) {
+    }
+
+    void exportSucceeded(ExportReport report);
+
+    void exportFailed(Path file, Exception error);
+}
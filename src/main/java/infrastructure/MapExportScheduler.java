@@ -0,0 +1,111 @@
+package infrastructure;
+
+import domain.GameMap;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exports the map to GeoJSON on a background thread. A request only marks the
+ * map dirty; every request arriving before the delay elapses is folded into
+ * the same write. The file is written next to the target and then moved over
+ * it, so readers never see a half-written export.
+ * <p>
+ * The tiles are copied before writing while the map may still be edited. If
+ * the map changed during the copy or the write, another export is queued.
+ */
+public class MapExportScheduler implements AutoCloseable {
+
+    private final Path target;
+    private final long delayMillis;
+    private final boolean pretty;
+    private final GeoJsonWriter.Merge merge;
+    private final MapExportListener listener;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "map-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicReference<GameMap> dirtyMap = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    public MapExportScheduler(Path target, long delayMillis, boolean pretty, GeoJsonWriter.Merge merge, MapExportListener listener) {
+        this.target = target.toAbsolutePath();
+        this.delayMillis = delayMillis;
+        this.pretty = pretty;
+        this.merge = merge;
+        this.listener = listener;
+    }
+
+    public void requestExport(GameMap map) {
+        dirtyMap.set(map);
+        pendingRequests.incrementAndGet();
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::export, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void export() {
+        scheduled.set(false);
+        GameMap map = dirtyMap.getAndSet(null);
+        int requests = pendingRequests.getAndSet(0);
+        if (map == null) return;
+
+        long startTime = System.nanoTime();
+        long version = map.getVersion();
+        try {
+            GameMap snapshot = map.copy();
+            Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                GeoJsonWriter.write(snapshot, temporary, pretty, merge);
+                long bytes = Files.size(temporary);
+                moveIntoPlace(temporary);
+                listener.exportSucceeded(new MapExportListener.ExportReport(target, version, requests, bytes, System.nanoTime() - startTime));
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException | RuntimeException e) {
+            listener.exportFailed(target, e);
+        }
+
+        if (map.getVersion() != version) dirtyMap.compareAndSet(null, map);
+        if (dirtyMap.get() != null && !executor.isShutdown() && scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::export, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void moveIntoPlace(Path temporary) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes any export still waiting for its delay, then stops the thread.
+     * Closing again does nothing.
+     */
+    @Override
+    public void close() {
+        if (executor.isShutdown()) return;
+        executor.execute(this::export);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package infrastructure;
+
+import application.interfaces.SearchStatistics;
+import domain.Coordinate;
+import domain.GameMap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends one JSON object per search to a JSON Lines file, so that algorithms
+ * can be compared query by query with any JSON or dataframe tooling.
+ */
+public class SearchStatisticsLog {
+
+    private final Path file;
+
+    public SearchStatisticsLog(Path file) {
+        this.file = file;
+    }
+
+    public synchronized void append(String algorithm, GameMap map, Coordinate start, Coordinate goal,
+                                    List<Coordinate> path, SearchStatistics statistics) throws IOException {
+        String record = "{\"timestamp\":\"" + Instant.now() + "\""
+                + ",\"algorithm\":\"" + algorithm + "\""
+                + ",\"mapWidth\":" + map.getWidth()
+                + ",\"mapHeight\":" + map.getHeight()
+                + ",\"start\":[" + start.x() + "," + start.y() + "]"
+                + ",\"goal\":[" + goal.x() + "," + goal.y() + "]"
+                + ",\"found\":" + (path != null && !path.isEmpty())
+                + ",\"pathLength\":" + (path == null ? 0 : path.size())
+                + ",\"expandedNodes\":" + statistics.getExpandedNodes()
+                + ",\"pushes\":" + statistics.getPushes()
+                + ",\"pops\":" + statistics.getPops()
+                + ",\"stalePops\":" + statistics.getStalePops()
+                + ",\"peakOpenSet\":" + statistics.getPeakOpenSet()
+                + ",\"allocatedBytes\":" + statistics.getAllocatedBytes()
+                + ",\"wallNanos\":" + statistics.getWallNanos()
+                + "}\n";
+        Files.writeString(file, record, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
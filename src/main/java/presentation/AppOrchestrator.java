@@ -2,19 +2,26 @@ package presentation;
 
 import application.components.MapGenerator;
 import application.components.MapRenderer;
+import application.components.PathOverlay;
+import application.components.TileAtlas;
+import application.components.Viewport;
 import application.usecases.PlaceEndPointUseCase;
 import application.usecases.PlaceStartPointUseCase;
 import domain.GameMap;
 import domain.MapElementType;
+import infrastructure.BinaryMapFile;
 import javafx.application.Application;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Alert;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import presentation.animation.MarioAnimator;
 import presentation.ui.MapGeneratorUI;
+import presentation.ui.MapLayers;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -23,14 +30,30 @@ public class AppOrchestrator extends Application {
 
     private static final int WIDTH = 30;
     private static final int HEIGHT = 30;
+    private static final Path DEFAULT_MAP_FILE = Path.of("map" + BinaryMapFile.EXTENSION);
+
+    private MapGeneratorUI ui;
 
     @Override
     public void start(Stage primaryStage) {
-        GameMap map = new GameMap(WIDTH, HEIGHT);
-        MapGenerator.generate(map);
+        String mapOption = getParameters().getNamed().get("map");
+        String statisticsOption = getParameters().getNamed().get("stats");
+        Path mapFile = mapOption != null ? Path.of(mapOption) : DEFAULT_MAP_FILE;
+        GameMap map = null;
+        String loadError = null;
+        if (Files.exists(mapFile)) {
+            try {
+                map = BinaryMapFile.read(mapFile);
+            } catch (IOException e) {
+                loadError = e.getMessage();
+            }
+        }
+        if (map == null) {
+            map = new GameMap(WIDTH, HEIGHT);
+            MapGenerator.generate(map);
+        }
 
-        Canvas canvas = new Canvas();
-        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        MapLayers layers = new MapLayers();
 
         Map<MapElementType, Image> tileImages = new HashMap<>();
         for (MapElementType type : MapElementType.values()) {
@@ -41,20 +64,22 @@ public class AppOrchestrator extends Application {
             }
         }
 
-        Image marioImage = new Image(Objects.requireNonNull(getClass().getResource("/tiles/mario.png")).toExternalForm());
-        Image castleImage = new Image(Objects.requireNonNull(getClass().getResource("/tiles/chateau.png")).toExternalForm());
+        TileAtlas atlas = new TileAtlas(tileImages);
+        Viewport viewport = new Viewport();
 
         PlaceStartPointUseCase startUseCase = new PlaceStartPointUseCase();
         PlaceEndPointUseCase endUseCase = new PlaceEndPointUseCase();
 
-        MapRenderer renderer = new MapRenderer(map, graphics, tileImages, 1);
-        MapGeneratorUI ui = new MapGeneratorUI(
-                map, canvas, tileImages, marioImage, castleImage,
-                startUseCase, endUseCase, renderer, null
+        MapRenderer renderer = new MapRenderer(map, layers.getTerrain().getGraphicsContext2D(), atlas, viewport);
+        PathOverlay pathOverlay = new PathOverlay(layers.getPath().getGraphicsContext2D(), atlas, viewport);
+        ui = new MapGeneratorUI(
+                map, layers, atlas, viewport,
+                startUseCase, endUseCase, renderer, pathOverlay, null,
+                statisticsOption != null ? Path.of(statisticsOption) : null
         );
 
 
-        MarioAnimator animator = new MarioAnimator(graphics, renderer, map, marioImage, ui::drawSpecialImages);
+        MarioAnimator animator = new MarioAnimator(pathOverlay, ui);
         ui.setMarioAnimator(animator);
 
         Scene scene = new Scene(ui.getRootLayout());
@@ -65,6 +90,19 @@ public class AppOrchestrator extends Application {
         primaryStage.show();
 
         ui.onSceneReady(scene);
+
+        if (loadError != null) {
+            Alert alert = new Alert(Alert.AlertType.WARNING);
+            alert.setTitle("Carte");
+            alert.setHeaderText("Impossible de charger " + mapFile);
+            alert.setContentText(loadError + "\nUne carte aléatoire a été générée à la place.");
+            alert.show();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (ui != null) ui.shutdown();
     }
 
     public static void main(String[] args) {
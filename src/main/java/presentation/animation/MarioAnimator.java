@@ -1,74 +1,115 @@
 package presentation.animation;
 
-import application.components.MapRenderer;
-import application.components.PathInterpreter;
+import application.components.PathOverlay;
+import application.events.AnimationFrameEvent;
 import domain.Coordinate;
-import domain.GameMap;
-import domain.MapElementType;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
-import javafx.util.Duration;
+import javafx.animation.AnimationTimer;
 import lombok.Getter;
 
 import java.util.List;
-import java.util.Set;
-import java.util.function.Consumer;
 
+/**
+ * Walks Mario along a path on every rendered frame. His position follows the
+ * elapsed time, so playback stays steady whatever the frame rate, and only
+ * the current step is kept: memory does not grow with the path length.
+ */
 public class MarioAnimator {
 
-    private final GraphicsContext graphics;
-    private final MapRenderer renderer;
-    private final GameMap map;
-    private final Image marioImage;
+    private static final double STEPS_PER_SECOND = 10;
+
+    private final PathOverlay pathOverlay;
+    private final MarioPositionListener listener;
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            advance(now);
+        }
+    };
+
+    private List<Coordinate> path = List.of();
+    private Runnable onFinished;
+    private double progress;
+    private long lastFrame;
     @Getter
-    private final Consumer<Coordinate> onMarioPositionUpdate;
-
-    public MarioAnimator(GraphicsContext graphics, MapRenderer renderer, GameMap map, Image marioImage, Consumer<Coordinate> onMarioPositionUpdate) {
-        this.graphics = graphics;
-        this.renderer = renderer;
-        this.map = map;
-        this.marioImage = marioImage;
-        this.onMarioPositionUpdate = onMarioPositionUpdate;
+    private boolean running;
+    @Getter
+    private double speed = 1;
+
+    public MarioAnimator(PathOverlay pathOverlay, MarioPositionListener listener) {
+        this.pathOverlay = pathOverlay;
+        this.listener = listener;
+    }
+
+    public void animate(List<Coordinate> path, Runnable onFinished) {
+        stop();
+        this.path = path;
+        this.onFinished = onFinished;
+        progress = 0;
+        lastFrame = -1;
+        pathOverlay.show(path);
+        running = true;
+        timer.start();
+    }
+
+    /** Playback speed as a multiple of {@value #STEPS_PER_SECOND} steps per second. */
+    public void setSpeed(double speed) {
+        if (speed <= 0) throw new IllegalArgumentException("speed must be positive");
+        this.speed = speed;
     }
 
-    public void animate(List<Coordinate> path, Set<Coordinate> modifiedCells, Runnable onFinished) {
-        Timeline timeline = new Timeline();
-
-        for (int i = 1; i < path.size(); i++) {
-            final int index = i;
-            KeyFrame keyFrame = new KeyFrame(Duration.millis(100 * i), e -> {
-                Coordinate current = path.get(index);
-                Coordinate previous = path.get(index - 1);
-
-                if (index > 1) {
-                    Coordinate before = path.get(index - 2);
-                    MapElementType type = PathInterpreter.determineTileType(before, previous, current);
-                    map.getCell(previous.x(), previous.y()).setType(type);
-                    modifiedCells.add(new Coordinate(previous.x(), previous.y()));
-                }
-
-                onMarioPositionUpdate.accept(index < path.size() - 1 ? current : null);
-                renderer.render();
-
-                if (index < path.size() - 1) {
-                    graphics.drawImage(marioImage,
-                            current.x() * renderer.tileSize(),
-                            current.y() * renderer.tileSize(),
-                            renderer.tileSize(), renderer.tileSize());
-                }
-            });
-            timeline.getKeyFrames().add(keyFrame);
+    /** Reveals the whole path at once and ends the animation as if Mario had arrived. */
+    public void skipToEnd() {
+        if (running) finish();
+    }
+
+    /** Abandons the animation without calling its completion callback. */
+    public void stop() {
+        if (!running) return;
+        timer.stop();
+        running = false;
+        onFinished = null;
+        listener.marioHidden();
+    }
+
+    private void advance(long now) {
+        AnimationFrameEvent event = new AnimationFrameEvent();
+        event.begin();
+        step(now);
+        if (event.shouldCommit()) {
+            event.step = (int) Math.min(progress, path.size() - 1);
+            event.pathLength = path.size();
+            event.speed = speed;
+            event.commit();
         }
+    }
 
-        timeline.setOnFinished(e -> {
-            renderer.render();
-            onMarioPositionUpdate.accept(null);
-            onFinished.run();
-        });
+    private void step(long now) {
+        if (lastFrame >= 0) {
+            progress += (now - lastFrame) / 1e9 * STEPS_PER_SECOND * speed;
+        }
+        lastFrame = now;
+
+        int last = path.size() - 1;
+        if (progress >= last) {
+            finish();
+            return;
+        }
 
-        timeline.play();
+        int step = (int) progress;
+        double t = progress - step;
+        Coordinate from = path.get(step);
+        Coordinate to = path.get(step + 1);
+        pathOverlay.revealUpTo(step);
+        listener.marioMoved(from.x() + (to.x() - from.x()) * t, from.y() + (to.y() - from.y()) * t);
     }
 
-}
\ No newline at end of file
+    private void finish() {
+        timer.stop();
+        running = false;
+        pathOverlay.revealAll();
+        listener.marioHidden();
+        Runnable callback = onFinished;
+        onFinished = null;
+        if (callback != null) callback.run();
+    }
+}
@@ -0,0 +1,9 @@
+package presentation.animation;
+
+public interface MarioPositionListener {
+
+    /** Mario's position in tile units; fractional while he walks between two tiles. */
+    void marioMoved(double x, double y);
+
+    void marioHidden();
+}
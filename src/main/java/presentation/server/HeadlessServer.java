@@ -0,0 +1,62 @@
+package presentation.server;
+
+import application.components.MapGenerator;
+import domain.GameMap;
+import infrastructure.BinaryMapFile;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Entry point of the headless mode. Options are given as {@code --name=value}:
+ * host, port, map (a binary map file, otherwise a random map of width x
+ * height is generated), workers and max-in-flight.
+ */
+public class HeadlessServer {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parseOptions(args);
+        String host = options.getOrDefault("host", "127.0.0.1");
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int width = Integer.parseInt(options.getOrDefault("width", "200"));
+        int height = Integer.parseInt(options.getOrDefault("height", "200"));
+        int workers = Integer.parseInt(options.getOrDefault("workers", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "4096"));
+
+        GameMap map;
+        if (options.containsKey("map")) {
+            map = BinaryMapFile.read(Path.of(options.get("map")));
+        } else {
+            map = new GameMap(width, height);
+            MapGenerator.generate(map);
+        }
+        map.getConnectivity();
+
+        RoutingServer server = new RoutingServer(map, new InetSocketAddress(host, port), workers, maxInFlight);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }));
+
+        server.start();
+        System.out.println("Serveur de routage démarré sur http://" + host + ":" + server.getAddress().getPort()
+                + " (carte " + map.getWidth() + "x" + map.getHeight() + ", threads de calcul : " + workers + ")");
+        stopped.await();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Option invalide : " + arg);
+            int separator = arg.indexOf('=');
+            if (separator < 0) throw new IllegalArgumentException("Option sans valeur : " + arg);
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
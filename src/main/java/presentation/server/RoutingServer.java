@@ -0,0 +1,311 @@
+package presentation.server;
+
+import application.algorithms.BitParallelBfs;
+import application.algorithms.DistanceField;
+import application.algorithms.ReachableSet;
+import application.enums.PathAlgorithm;
+import application.usecases.BatchRoutingUseCase;
+import application.usecases.BatchRoutingUseCase.BatchResult;
+import application.usecases.BatchRoutingUseCase.RouteQuery;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import domain.Coordinate;
+import domain.GameMap;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Serves route queries over HTTP without any JavaFX dependency. Connections
+ * are handled on virtual threads, while the searches themselves run on the
+ * bounded worker pool of {@link BatchRoutingUseCase}. Distance and
+ * reachability queries are single passes of {@link BitParallelBfs} and run
+ * on the connection thread.
+ */
+public class RoutingServer implements AutoCloseable {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final GameMap map;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final BatchRoutingUseCase routing;
+    private final Semaphore permits;
+    private final ServerMetrics metrics = new ServerMetrics();
+
+    private record Response(int status, JSONObject body, int routeCount) {
+    }
+
+    private interface Endpoint {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    public RoutingServer(GameMap map, InetSocketAddress address, int workers, int maxInFlight) throws IOException {
+        this.map = map;
+        this.routing = new BatchRoutingUseCase(workers);
+        this.permits = new Semaphore(maxInFlight);
+        this.server = HttpServer.create(address, maxInFlight);
+
+        server.setExecutor(executor);
+        server.createContext("/route", exchange -> serve(exchange, "GET", this::route));
+        server.createContext("/routes", exchange -> serve(exchange, "POST", this::routes));
+        server.createContext("/distances", exchange -> serve(exchange, "GET", this::distances));
+        server.createContext("/reachable", exchange -> serve(exchange, "GET", this::reachable));
+        server.createContext("/stats", exchange -> serve(exchange, "GET", ignored -> new Response(200, metrics.snapshot(), 0)));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        routing.close();
+    }
+
+    private void serve(HttpExchange exchange, String method, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            if (!permits.tryAcquire()) {
+                metrics.requestRejected();
+                send(exchange, new Response(503, error("Serveur saturé, réessayez plus tard"), 0));
+                return;
+            }
+
+            long startTime = System.nanoTime();
+            metrics.requestStarted();
+            Response response;
+            try {
+                if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+                    response = new Response(405, error("Méthode attendue : " + method), 0);
+                } else {
+                    response = endpoint.handle(exchange);
+                }
+            } catch (IllegalArgumentException e) {
+                response = new Response(400, error(e.getMessage()), 0);
+            } catch (RuntimeException e) {
+                response = new Response(500, error("Erreur interne : " + e.getMessage()), 0);
+            } finally {
+                permits.release();
+            }
+            metrics.requestFinished(System.nanoTime() - startTime, response.routeCount(), response.status() >= 500);
+            send(exchange, response);
+        }
+    }
+
+    private Response route(HttpExchange exchange) {
+        Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        RouteQuery query = new RouteQuery(
+                parseCoordinate(parameters.get("from"), "from"),
+                parseCoordinate(parameters.get("to"), "to"));
+        PathAlgorithm algorithm = parseAlgorithm(parameters.get("algorithm"));
+
+        BatchResult result = routing.execute(map, List.of(query), algorithm);
+
+        JSONObject body = routeJson(result.routes().get(0));
+        body.put("algorithm", algorithm.name());
+        body.put("elapsedMs", result.elapsedNanos() / 1_000_000.0);
+        return new Response(200, body, 1);
+    }
+
+    private Response routes(HttpExchange exchange) throws IOException {
+        JSONObject request;
+        try (InputStream input = exchange.getRequestBody()) {
+            request = new JSONObject(new JSONTokener(input));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Corps JSON invalide : " + e.getMessage());
+        }
+
+        Object algorithmName = request.opt("algorithm");
+        if (algorithmName != null && !(algorithmName instanceof String)) {
+            throw new IllegalArgumentException("Champ \"algorithm\" invalide : chaîne attendue");
+        }
+        PathAlgorithm algorithm = parseAlgorithm((String) algorithmName);
+        JSONArray queries = request.optJSONArray("queries");
+        if (queries == null) throw new IllegalArgumentException("Champ \"queries\" manquant");
+        if (queries.length() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Lot trop grand (maximum " + MAX_BATCH_SIZE + " requêtes)");
+        }
+
+        List<RouteQuery> batch = new ArrayList<>(queries.length());
+        for (int i = 0; i < queries.length(); i++) {
+            batch.add(parseRouteQuery(queries.opt(i), i));
+        }
+
+        BatchResult result = routing.execute(map, batch, algorithm);
+
+        JSONArray routes = new JSONArray();
+        for (List<Coordinate> path : result.routes()) {
+            routes.put(routeJson(path));
+        }
+        JSONObject body = new JSONObject();
+        body.put("algorithm", algorithm.name());
+        body.put("routes", routes);
+        body.put("elapsedMs", result.elapsedNanos() / 1_000_000.0);
+        body.put("routesPerSecond", result.routesPerSecond());
+        return new Response(200, body, batch.size());
+    }
+
+    // Each query is [x1, y1, x2, y2]; anything else is the client's mistake.
+    private RouteQuery parseRouteQuery(Object entry, int index) {
+        if (!(entry instanceof JSONArray query) || query.length() != 4) {
+            throw new IllegalArgumentException("Requête n°" + index + " invalide : [x1, y1, x2, y2] attendu");
+        }
+        int[] values = new int[4];
+        for (int k = 0; k < 4; k++) {
+            if (!(query.opt(k) instanceof Integer value)) {
+                throw new IllegalArgumentException("Requête n°" + index + " invalide : coordonnées entières attendues");
+            }
+            values[k] = value;
+        }
+        return new RouteQuery(checkedCoordinate(values[0], values[1]), checkedCoordinate(values[2], values[3]));
+    }
+
+    // Step counts from one tile to the whole map, reported for the listed targets.
+    private Response distances(HttpExchange exchange) {
+        Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        Coordinate source = parseCoordinate(parameters.get("from"), "from");
+        List<Coordinate> targets = parseCoordinates(parameters.get("to"), "to");
+
+        long startTime = System.nanoTime();
+        DistanceField field = BitParallelBfs.distances(map, source);
+        long elapsed = System.nanoTime() - startTime;
+
+        JSONArray steps = new JSONArray();
+        for (Coordinate target : targets) {
+            int distance = field.steps(target.x(), target.y());
+            steps.put(distance == DistanceField.UNREACHABLE ? JSONObject.NULL : distance);
+        }
+        JSONObject body = new JSONObject();
+        body.put("reachableTiles", field.reachedCount());
+        body.put("maxSteps", field.maxSteps());
+        body.put("steps", steps);
+        body.put("elapsedMs", elapsed / 1_000_000.0);
+        return new Response(200, body, 1);
+    }
+
+    private Response reachable(HttpExchange exchange) {
+        Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+        Coordinate source = parseCoordinate(parameters.get("from"), "from");
+        List<Coordinate> targets = parseCoordinates(parameters.get("to"), "to");
+
+        long startTime = System.nanoTime();
+        ReachableSet reached = BitParallelBfs.reachable(map, source);
+        long elapsed = System.nanoTime() - startTime;
+
+        JSONArray flags = new JSONArray();
+        for (Coordinate target : targets) {
+            flags.put(reached.contains(target.x(), target.y()));
+        }
+        JSONObject body = new JSONObject();
+        body.put("reachableTiles", reached.size());
+        body.put("reachable", flags);
+        body.put("elapsedMs", elapsed / 1_000_000.0);
+        return new Response(200, body, 1);
+    }
+
+    private JSONObject routeJson(List<Coordinate> path) {
+        JSONObject route = new JSONObject();
+        if (path == null || path.isEmpty()) {
+            route.put("found", false);
+            return route;
+        }
+
+        JSONArray steps = new JSONArray();
+        int cost = 0;
+        for (int i = 0; i < path.size(); i++) {
+            Coordinate step = path.get(i);
+            steps.put(new JSONArray().put(step.x()).put(step.y()));
+            if (i > 0) cost += map.getTraversalCost(map.indexOf(step.x(), step.y()));
+        }
+        route.put("found", true);
+        route.put("cost", cost);
+        route.put("path", steps);
+        return route;
+    }
+
+    private Coordinate parseCoordinate(String value, String name) {
+        if (value == null) throw new IllegalArgumentException("Paramètre \"" + name + "\" manquant (format x,y)");
+        String[] parts = value.split(",");
+        if (parts.length != 2) throw new IllegalArgumentException("Paramètre \"" + name + "\" invalide (format x,y)");
+        try {
+            return checkedCoordinate(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Paramètre \"" + name + "\" invalide (format x,y)");
+        }
+    }
+
+    // Optional list of x,y pairs separated by ';'.
+    private List<Coordinate> parseCoordinates(String value, String name) {
+        List<Coordinate> coordinates = new ArrayList<>();
+        if (value == null || value.isBlank()) return coordinates;
+        String[] parts = value.split(";");
+        if (parts.length > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Trop de coordonnées dans \"" + name + "\" (maximum " + MAX_BATCH_SIZE + ")");
+        }
+        for (String part : parts) {
+            coordinates.add(parseCoordinate(part, name));
+        }
+        return coordinates;
+    }
+
+    private Coordinate checkedCoordinate(int x, int y) {
+        if (!map.isInside(x, y)) throw new IllegalArgumentException("Coordonnée hors de la carte : " + x + "," + y);
+        return new Coordinate(x, y);
+    }
+
+    private static PathAlgorithm parseAlgorithm(String value) {
+        if (value == null) return PathAlgorithm.ASTAR;
+        try {
+            return PathAlgorithm.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Algorithme inconnu : " + value);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) return parameters;
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0) continue;
+            parameters.put(
+                    URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static JSONObject error(String message) {
+        return new JSONObject().put("error", message);
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body().toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
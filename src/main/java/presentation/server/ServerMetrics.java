@@ -0,0 +1,53 @@
+package presentation.server;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ServerMetrics {
+
+    private final long startedAt = System.nanoTime();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder routes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    public void requestFinished(long latencyNanos, int routeCount, boolean failed) {
+        inFlight.decrement();
+        requests.increment();
+        routes.add(routeCount);
+        if (failed) failures.increment();
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    public void requestRejected() {
+        rejected.increment();
+    }
+
+    public JSONObject snapshot() {
+        long requestCount = requests.sum();
+        double uptimeSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        JSONObject stats = new JSONObject();
+        stats.put("uptimeSeconds", uptimeSeconds);
+        stats.put("requests", requestCount);
+        stats.put("routes", routes.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("failures", failures.sum());
+        stats.put("inFlight", inFlight.sum());
+        stats.put("averageLatencyMs", requestCount == 0 ? 0 : totalLatencyNanos.sum() / 1_000_000.0 / requestCount);
+        stats.put("maxLatencyMs", maxLatencyNanos.get() / 1_000_000.0);
+        stats.put("requestsPerSecond", requestCount / uptimeSeconds);
+        stats.put("routesPerSecond", routes.sum() / uptimeSeconds);
+        return stats;
+    }
+}
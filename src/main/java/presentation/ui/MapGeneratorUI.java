@@ -1,42 +1,48 @@
 package presentation.ui;
 
-import domain.Coordinate;
 import application.components.MapRenderer;
+import application.components.PathOverlay;
+import application.components.TileAtlas;
+import application.components.Viewport;
 import application.usecases.PlaceEndPointUseCase;
 import application.usecases.PlaceStartPointUseCase;
 import application.usecases.UpdateMapSizeUseCase;
 import domain.GameMap;
 import domain.MapCell;
 import domain.MapElementType;
-import infrastructure.GeoJsonExporter;
+import infrastructure.GeoJsonWriter;
+import infrastructure.MapExportListener;
+import infrastructure.MapExportScheduler;
+import javafx.application.Platform;
 import javafx.scene.Scene;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
 import lombok.Getter;
 import lombok.Setter;
-import org.json.JSONObject;
 import presentation.animation.MarioAnimator;
+import presentation.animation.MarioPositionListener;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Path;
 import java.util.Objects;
-import java.util.Set;
 
-public class MapGeneratorUI {
+public class MapGeneratorUI implements MapExportListener, MarioPositionListener {
+
+    private static final Path GEOJSON_FILE = Path.of("generated-map.geojson");
+    private static final long EXPORT_DELAY_MS = 300;
+    // About 70 MB once runs are merged into polygons; larger maps are not exported.
+    private static final int MAX_EXPORTED_TILES = 1000 * 1000;
+    private static final double ZOOM_STEP = 1.25;
+    private static final double MIN_SPRITE_SIZE = 12;
 
     private GameMap map;
-    private final Canvas canvas;
-    private final GraphicsContext graphics;
-    private final Map<MapElementType, Image> tileImages;
-    private final Image castleImage;
-    private final Image marioImage;
+    private final MapLayers layers;
+    private final GraphicsContext sprites;
+    private final TileAtlas atlas;
+    private final Viewport viewport;
 
     @Getter
     private MapRenderer renderer;
+    private final PathOverlay pathOverlay;
     private final MapInteractionHandler interactionHandler;
     private final PathCalculationController pathController;
     private final MapUIBuilder builder;
@@ -49,115 +55,190 @@ public class MapGeneratorUI {
     private MarioAnimator marioAnimator;
 
     private final UpdateMapSizeUseCase updateMapSizeUseCase;
-    private int tileSize;
+    private final MapExportScheduler exportScheduler;
+    private double marioX = Double.NaN;
+    private double marioY = Double.NaN;
+    private boolean fitPending = true;
+    private double dragX;
+    private double dragY;
 
-    public MapGeneratorUI(GameMap map, Canvas canvas, Map<MapElementType, Image> tileImages, Image marioImage, Image castleImage, PlaceStartPointUseCase startUseCase, PlaceEndPointUseCase endUseCase, MapRenderer renderer, MarioAnimator marioAnimator) {
+    public MapGeneratorUI(GameMap map, MapLayers layers, TileAtlas atlas, Viewport viewport, PlaceStartPointUseCase startUseCase, PlaceEndPointUseCase endUseCase, MapRenderer renderer, PathOverlay pathOverlay, MarioAnimator marioAnimator, Path statisticsFile) {
 
         this.map = map;
-        this.canvas = canvas;
-        this.graphics = canvas.getGraphicsContext2D();
-        this.tileImages = tileImages;
-        this.marioImage = marioImage;
-        this.castleImage = castleImage;
+        this.layers = layers;
+        this.sprites = layers.getSprites().getGraphicsContext2D();
+        this.atlas = atlas;
+        this.viewport = viewport;
         this.renderer = renderer;
+        this.pathOverlay = pathOverlay;
         this.marioAnimator = marioAnimator;
         this.updateMapSizeUseCase = new UpdateMapSizeUseCase();
+        this.exportScheduler = new MapExportScheduler(GEOJSON_FILE, EXPORT_DELAY_MS, false, GeoJsonWriter.Merge.POLYGON, this);
 
         this.interactionHandler = new MapInteractionHandler(startUseCase, endUseCase);
-        this.pathController = new PathCalculationController(map, renderer, interactionHandler);
+        this.pathController = new PathCalculationController(map, interactionHandler, statisticsFile);
 
-        this.builder = new MapUIBuilder(canvas, interactionHandler, pathController, this);
+        this.builder = new MapUIBuilder(layers.getView(), interactionHandler, pathController, this);
         this.rootLayout = builder.build();
 
+        viewport.setMapSize(map.getWidth(), map.getHeight());
         attachCanvasClickHandler();
+        attachViewportHandlers();
     }
 
     public void onSceneReady(Scene scene) {
         scene.getStylesheets().add(Objects.requireNonNull(getClass().getResource("/css/style.css")).toExternalForm());
-        scene.widthProperty().addListener((_, _, newVal) -> updateTileSizeAndRedraw(newVal.intValue(), (int) scene.getHeight()));
-        scene.heightProperty().addListener((_, _, newVal) -> updateTileSizeAndRedraw((int) scene.getWidth(), newVal.intValue()));
-        updateTileSizeAndRedraw((int) scene.getWidth(), (int) scene.getHeight());
+        scene.widthProperty().addListener((_, _, newVal) -> updateViewportAndRedraw(newVal.intValue(), (int) scene.getHeight()));
+        scene.heightProperty().addListener((_, _, newVal) -> updateViewportAndRedraw((int) scene.getWidth(), newVal.intValue()));
+        updateViewportAndRedraw((int) scene.getWidth(), (int) scene.getHeight());
         exportGeoJson();
     }
 
-    private void updateTileSizeAndRedraw(int windowWidth, int windowHeight) {
+    private void updateViewportAndRedraw(int windowWidth, int windowHeight) {
         double canvasRatio = 0.8;
-        int availableWidth = (int) (windowWidth * canvasRatio);
-        int availableHeight = windowHeight - 40;
-        tileSize = Math.min(availableWidth / map.getWidth(), availableHeight / map.getHeight());
-
-        canvas.setWidth(tileSize * map.getWidth());
-        canvas.setHeight(tileSize * map.getHeight());
+        int availableWidth = Math.max(1, (int) (windowWidth * canvasRatio));
+        int availableHeight = Math.max(1, windowHeight - 40);
+
+        layers.setSize(availableWidth, availableHeight);
+        viewport.setViewSize(availableWidth, availableHeight);
+        if (fitPending) {
+            viewport.fit();
+            fitPending = false;
+        }
+        redrawAll();
+    }
 
-        renderer.setTileSize(tileSize);
+    private void redrawAll() {
         renderer.render();
-        drawSpecialImages(null);
+        pathOverlay.redraw();
+        drawSpecialImages();
     }
 
-    public void drawSpecialImages(Coordinate marioPosition) {
+    /** Redraws the sprite layer only; the terrain and path layers are left untouched. */
+    public void drawSpecialImages() {
         MapCell startNode = interactionHandler.getStartNode();
         MapCell endNode = interactionHandler.getEndNode();
 
+        sprites.clearRect(0, 0, layers.getSprites().getWidth(), layers.getSprites().getHeight());
+
         if (startNode != null)
-            graphics.drawImage(tileImages.get(MapElementType.START), startNode.getX() * tileSize, startNode.getY() * tileSize, tileSize, tileSize);
+            drawSprite(MapElementType.START, startNode.getX(), startNode.getY());
 
         if (endNode != null)
-            graphics.drawImage(castleImage, endNode.getX() * tileSize, endNode.getY() * tileSize, tileSize, tileSize);
+            drawSprite(MapElementType.CHATEAU, endNode.getX(), endNode.getY());
 
-        if (marioPosition != null)
-            graphics.drawImage(marioImage, marioPosition.x() * tileSize, marioPosition.y() * tileSize, tileSize, tileSize);
+        if (!Double.isNaN(marioX))
+            drawSprite(MapElementType.MARIO, marioX, marioY);
     }
 
-    public void clearCurrentPath() {
-        List<Coordinate> path = pathController.getCurrentPath();
-        Set<Coordinate> modified = pathController.getModifiedCells();
+    @Override
+    public void marioMoved(double x, double y) {
+        marioX = x;
+        marioY = y;
+        drawSpecialImages();
+    }
 
-        for (Coordinate coord : modified) {
-            MapCell cell = map.getCell(coord.x(), coord.y());
-            cell.setType(MapElementType.HERBE);
-        }
+    @Override
+    public void marioHidden() {
+        marioX = Double.NaN;
+        marioY = Double.NaN;
+        drawSpecialImages();
+    }
+
+    // Sprites keep a readable size when tiles shrink to a few pixels.
+    private void drawSprite(MapElementType type, double x, double y) {
+        if (!viewport.isVisible((int) Math.round(x), (int) Math.round(y))) return;
+        double scale = viewport.scale();
+        double size = Math.max(scale, MIN_SPRITE_SIZE);
+        double offset = (scale - size) / 2;
+        atlas.draw(sprites, type, viewport.screenX(x) + offset, viewport.screenY(y) + offset, size);
+    }
 
-        path.clear();
-        modified.clear();
+    public void clearCurrentPath() {
+        pathController.cancelSearch();
+        if (marioAnimator != null) marioAnimator.stop();
+        pathOverlay.clear();
+        pathController.getCurrentPath().clear();
     }
 
     public void regenerateMap(int newWidth, int newHeight) {
+        clearCurrentPath();
         this.map = updateMapSizeUseCase.execute(newWidth, newHeight);
+        renderer.detach();
 
         interactionHandler.reset();
         pathController.updateMap(map);
 
-        this.renderer = new MapRenderer(map, graphics, tileImages, tileSize);
-        pathController.updateRenderer(renderer);
-
-        this.marioAnimator = new MarioAnimator(graphics, renderer, map, marioImage, this::drawSpecialImages);
+        this.renderer = new MapRenderer(map, layers.getTerrain().getGraphicsContext2D(), atlas, viewport);
+        viewport.setMapSize(newWidth, newHeight);
+        fitPending = true;
 
-        updateTileSizeAndRedraw((int) canvas.getScene().getWidth(), (int) canvas.getScene().getHeight());
-        drawSpecialImages(null);
+        updateViewportAndRedraw((int) layers.getView().getScene().getWidth(), (int) layers.getView().getScene().getHeight());
         exportGeoJson();
-
-        attachCanvasClickHandler();
     }
 
     private void attachCanvasClickHandler() {
-        canvas.setOnMouseClicked(event -> {
-            int x = (int) event.getX() / tileSize;
-            int y = (int) event.getY() / tileSize;
-
-            if (interactionHandler.handleClick(map, x, y, builder.isSelectingStart(), builder.isSelectingEnd())) {
-                clearCurrentPath();
-                renderer.render();
-                drawSpecialImages(null);
-                exportGeoJson();
-            }
+        layers.getView().setOnMouseClicked(event -> {
+            if (!event.isStillSincePress()) return;
+            int x = viewport.tileX(event.getX());
+            int y = viewport.tileY(event.getY());
+
+            boolean selectingStart = builder.isSelectingStart();
+            boolean selectingEnd = builder.isSelectingEnd();
+            if (!interactionHandler.acceptsClick(map, x, y, selectingStart, selectingEnd)) return;
+
+            // The search in flight is cancelled before the map changes under it.
+            clearCurrentPath();
+            interactionHandler.handleClick(map, x, y, selectingStart, selectingEnd);
+            renderer.renderDirty();
+            drawSpecialImages();
+            exportGeoJson();
+        });
+    }
+
+    // Wheel zooms around the cursor, dragging pans.
+    private void attachViewportHandlers() {
+        layers.getView().setOnScroll(event -> {
+            if (event.getDeltaY() == 0) return;
+            viewport.zoomAt(event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP, event.getX(), event.getY());
+            redrawAll();
+            event.consume();
+        });
+        layers.getView().setOnMousePressed(event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        layers.getView().setOnMouseDragged(event -> {
+            viewport.panBy(event.getX() - dragX, event.getY() - dragY);
+            dragX = event.getX();
+            dragY = event.getY();
+            redrawAll();
         });
     }
 
     private void exportGeoJson() {
-        try {
-            JSONObject geoJson = GeoJsonExporter.export(map);
-            Files.write(Paths.get("generated-map.geojson"), geoJson.toString(2).getBytes());
-        } catch (Exception ignored) {
+        if (map.getTileCount() > MAX_EXPORTED_TILES) {
+            builder.getExportLabel().setText("Export GeoJSON : désactivé au-delà de 1000x1000 tuiles");
+            return;
         }
+        exportScheduler.requestExport(map);
+    }
+
+    @Override
+    public void exportSucceeded(ExportReport report) {
+        String text = String.format("Export GeoJSON : %.1f ms, %d Ko (%d modification%s)",
+                report.elapsedNanos() / 1_000_000.0, report.bytes() / 1024,
+                report.coalescedRequests(), report.coalescedRequests() > 1 ? "s" : "");
+        Platform.runLater(() -> builder.getExportLabel().setText(text));
+    }
+
+    @Override
+    public void exportFailed(Path file, Exception error) {
+        Platform.runLater(() -> builder.getExportLabel().setText("Échec de l'export GeoJSON : " + error.getMessage()));
+    }
+
+    public void shutdown() {
+        pathController.shutdown();
+        exportScheduler.close();
     }
 }
\ No newline at end of file
@@ -31,21 +31,27 @@ public class MapInteractionHandler {
         this.endUseCase = endUseCase;
     }
 
-    public boolean handleClick(GameMap map, int x, int y, boolean isStartSelection, boolean isEndSelection) {
+    /** Whether {@link #handleClick} would place an endpoint, checked before anything is changed. */
+    public boolean acceptsClick(GameMap map, int x, int y, boolean isStartSelection, boolean isEndSelection) {
         if (x < 0 || x >= map.getWidth() || y < 0 || y >= map.getHeight()) return false;
 
-        MapCell cell = map.getCell(x, y);
-        if (cell.getType() != MapElementType.HERBE && cell.getType() != MapElementType.START && cell.getType() != MapElementType.CHATEAU)
+        MapElementType type = map.getType(x, y);
+        if (type != MapElementType.HERBE && type != MapElementType.START && type != MapElementType.CHATEAU)
             return false;
 
+        return isStartSelection || (isEndSelection && startNode != null);
+    }
+
+    public boolean handleClick(GameMap map, int x, int y, boolean isStartSelection, boolean isEndSelection) {
+        if (!acceptsClick(map, x, y, isStartSelection, isEndSelection)) return false;
+
         if (isStartSelection) {
             startUseCase.execute(map, x, y, startNode);
             startNode = map.getCell(x, y);
-        } else if (isEndSelection && startNode != null) {
+        } else {
             endUseCase.execute(map, x, y, endNode);
             endNode = map.getCell(x, y);
-        } else return false;
-
+        }
         return true;
     }
 
@@ -0,0 +1,34 @@
+package presentation.ui;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.layout.Pane;
+import lombok.Getter;
+
+/**
+ * The map view as three stacked canvases: terrain at the bottom, the route
+ * above it and the endpoint and Mario sprites on top. Each layer is redrawn
+ * on its own, so moving a sprite never repaints the terrain.
+ */
+@Getter
+public class MapLayers {
+
+    private final Canvas terrain = new Canvas();
+    private final Canvas path = new Canvas();
+    private final Canvas sprites = new Canvas();
+    private final Pane view = new Pane(terrain, path, sprites);
+
+    public MapLayers() {
+        path.setMouseTransparent(true);
+        sprites.setMouseTransparent(true);
+    }
+
+    public void setSize(double width, double height) {
+        for (Canvas canvas : new Canvas[]{terrain, path, sprites}) {
+            canvas.setWidth(width);
+            canvas.setHeight(height);
+        }
+        view.setPrefSize(width, height);
+        view.setMinSize(width, height);
+        view.setMaxSize(width, height);
+    }
+}
@@ -4,33 +4,45 @@ import application.enums.PathAlgorithm;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
-import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
+import javafx.util.StringConverter;
+import javafx.util.converter.IntegerStringConverter;
 
 import java.util.stream.IntStream;
 
 public class MapUIBuilder {
 
+    private static final int MIN_MAP_SIZE = 5;
+    private static final int MAX_MAP_SIZE = 5000;
+    private static final int DEFAULT_MAP_SIZE = 20;
+    private static final int[] LARGE_MAP_SIZES = {150, 200, 250, 500, 1000, 2000, 5000};
+    private static final Double[] ANIMATION_SPEEDS = {0.5, 1.0, 2.0, 5.0, 10.0, 50.0, 100.0};
+
     private final Button startButton;
     private final Button endButton;
     private final Button calculateButton;
     private final Button resetButton;
+    private final Button skipButton;
     private final ComboBox<PathAlgorithm> algoSelector;
     private final ComboBox<Integer> widthSelector;
     private final ComboBox<Integer> heightSelector;
+    private final ComboBox<Double> speedSelector;
     private final Label timerLabel;
+    private final Label statisticsLabel;
+    private final Label exportLabel;
 
     private final MapInteractionHandler interactionHandler;
     private final PathCalculationController pathController;
-    private final Canvas canvas;
+    private final Pane canvas;
     private final MapGeneratorUI mapGeneratorUI;
 
-    public MapUIBuilder(Canvas canvas, MapInteractionHandler handler, PathCalculationController controller, MapGeneratorUI mapGeneratorUI) {
+    public MapUIBuilder(Pane canvas, MapInteractionHandler handler, PathCalculationController controller, MapGeneratorUI mapGeneratorUI) {
         this.canvas = canvas;
         this.interactionHandler = handler;
         this.pathController = controller;
@@ -40,26 +52,44 @@ public class MapUIBuilder {
         endButton = createStyledButton("Point d’arrivée");
         calculateButton = createStyledButton("Calculer le chemin");
         resetButton = createStyledButton("Réinitialiser");
+        skipButton = createStyledButton("Passer l'animation");
 
         timerLabel = new Label("Temps d'exécution : ");
         timerLabel.getStyleClass().add("timer-label");
 
+        statisticsLabel = new Label("Statistiques : ");
+        statisticsLabel.getStyleClass().add("timer-label");
+
+        exportLabel = new Label("Export GeoJSON : ");
+        exportLabel.getStyleClass().add("timer-label");
+
         algoSelector = new ComboBox<>();
         algoSelector.getItems().addAll(PathAlgorithm.values());
         algoSelector.setValue(pathController.getCurrentAlgorithm());
         algoSelector.getStyleClass().add("algo-select");
 
-        widthSelector = new ComboBox<>();
-        heightSelector = new ComboBox<>();
-        IntStream.rangeClosed(5, 100).forEach(i -> {
-            widthSelector.getItems().add(i);
-            heightSelector.getItems().add(i);
-        });
-        widthSelector.setValue(20);
-        heightSelector.setValue(20);
+        widthSelector = createSizeSelector();
+        heightSelector = createSizeSelector();
+        widthSelector.setValue(DEFAULT_MAP_SIZE);
+        heightSelector.setValue(DEFAULT_MAP_SIZE);
         widthSelector.setPromptText("Largeur");
         heightSelector.setPromptText("Hauteur");
 
+        speedSelector = new ComboBox<>();
+        speedSelector.getItems().addAll(ANIMATION_SPEEDS);
+        speedSelector.setValue(1.0);
+        speedSelector.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Double speed) {
+                return speed == null ? "" : "Vitesse x" + (speed % 1 == 0 ? String.valueOf(speed.intValue()) : speed);
+            }
+
+            @Override
+            public Double fromString(String text) {
+                return null;
+            }
+        });
+
         setActions();
     }
 
@@ -83,28 +113,57 @@ public class MapUIBuilder {
         calculateButton.setOnAction(e -> {
             mapGeneratorUI.clearCurrentPath();
             pathController.calculateAndAnimate(
-                    mapGeneratorUI.getMarioAnimator(), timerLabel
+                    mapGeneratorUI.getMarioAnimator(), timerLabel, statisticsLabel
             );
         });
 
         resetButton.setOnAction(e -> {
-            int width = widthSelector.getValue();
-            int height = heightSelector.getValue();
+            int width = sizeOf(widthSelector);
+            int height = sizeOf(heightSelector);
             mapGeneratorUI.regenerateMap(width, height);
             interactionHandler.reset();
             pathController.getCurrentPath().clear();
-            pathController.getModifiedCells().clear();
             timerLabel.setText("Temps d'exécution : ");
+            statisticsLabel.setText("Statistiques : ");
         });
 
+        skipButton.setOnAction(e -> mapGeneratorUI.getMarioAnimator().skipToEnd());
+
+        speedSelector.setOnAction(e -> mapGeneratorUI.getMarioAnimator().setSpeed(speedSelector.getValue()));
+
         algoSelector.setOnAction(e -> {
             mapGeneratorUI.clearCurrentPath();
             pathController.setAlgorithm(algoSelector.getValue());
-            mapGeneratorUI.getRenderer().render();
-            mapGeneratorUI.drawSpecialImages(null);
+            mapGeneratorUI.drawSpecialImages();
         });
     }
 
+    // Any size can be typed in; the list offers the usual ones.
+    private static ComboBox<Integer> createSizeSelector() {
+        ComboBox<Integer> selector = new ComboBox<>();
+        IntStream.rangeClosed(MIN_MAP_SIZE, 100).forEach(selector.getItems()::add);
+        for (int size : LARGE_MAP_SIZES) selector.getItems().add(size);
+        selector.setEditable(true);
+        selector.setConverter(new IntegerStringConverter() {
+            @Override
+            public Integer fromString(String text) {
+                try {
+                    return super.fromString(text);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        });
+        return selector;
+    }
+
+    private static int sizeOf(ComboBox<Integer> selector) {
+        Integer value = selector.getValue();
+        int size = value == null ? DEFAULT_MAP_SIZE : Math.clamp(value, MIN_MAP_SIZE, MAX_MAP_SIZE);
+        selector.setValue(size);
+        return size;
+    }
+
     private Button createStyledButton(String text) {
         Button btn = new Button(text);
         btn.getStyleClass().add("button");
@@ -112,7 +171,7 @@ public class MapUIBuilder {
     }
 
     public HBox build() {
-        VBox controlPanel = new VBox(20, startButton, endButton, calculateButton, resetButton, algoSelector, widthSelector, heightSelector, timerLabel);
+        VBox controlPanel = new VBox(20, startButton, endButton, calculateButton, skipButton, speedSelector, resetButton, algoSelector, widthSelector, heightSelector, timerLabel, statisticsLabel, exportLabel);
         controlPanel.setAlignment(Pos.TOP_CENTER);
         controlPanel.setPadding(new Insets(20));
 
@@ -125,6 +184,10 @@ public class MapUIBuilder {
         return layout;
     }
 
+    public Label getExportLabel() {
+        return exportLabel;
+    }
+
     public boolean isSelectingStart() {
         return interactionHandler.isSelectingStart();
     }
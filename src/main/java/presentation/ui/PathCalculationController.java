@@ -1,66 +1,184 @@
 package presentation.ui;
 
-import application.algorithms.AStarPathFinder;
-import application.algorithms.DijkstraPathFinder;
-import application.components.MapRenderer;
+import application.components.PathFinderFactory;
+import application.components.RouteCache;
 import application.enums.PathAlgorithm;
 import application.interfaces.PathFindingUseCase;
+import application.interfaces.SearchMonitor;
+import application.interfaces.SearchStatistics;
 import domain.Coordinate;
 import domain.GameMap;
+import domain.MapElementType;
+import domain.TileChangeListener;
+import infrastructure.SearchStatisticsLog;
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
 import lombok.Getter;
 import presentation.animation.MarioAnimator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Set;
-
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs searches on a background thread so the window stays responsive. A new
+ * search, an endpoint move, a reset or an algorithm switch cancels the one in
+ * flight; only a search that is still current hands its path back to the FX
+ * thread. The statistics of every completed search are shown and, when a
+ * statistics file was given, appended to it.
+ * <p>
+ * Searches never read the map the window edits. The search thread owns a
+ * copy, and every edit is replayed onto it as a task queued behind the search
+ * in flight, so the finders' own tile listeners run on the search thread and
+ * the FX thread never waits for their locks.
+ */
 public class PathCalculationController {
 
-    @Getter
-    private final List<Coordinate> currentPath = new ArrayList<>();
+    private static final long ROUTE_CACHE_BYTES = 32L * 1024 * 1024;
 
     @Getter
-    private final Set<Coordinate> modifiedCells = new HashSet<>();
+    private final List<Coordinate> currentPath = new ArrayList<>();
 
     private GameMap map;
-    private MapRenderer renderer;
+    // Only read and written on the search thread.
+    private GameMap searchMap;
+    private final TileChangeListener mirror = new TileChangeListener() {
+        @Override
+        public void onTileChanged(int x, int y, MapElementType previous, MapElementType current) {
+            onSearchThread(() -> searchMap.setType(x, y, current));
+        }
+
+        @Override
+        public void onMapReloaded() {
+            GameMap copy = map.copy();
+            onSearchThread(() -> searchMap = copy);
+        }
+    };
     private final MapInteractionHandler interactionHandler;
 
     @Getter
     private PathAlgorithm currentAlgorithm = PathAlgorithm.DIJKSTRA;
 
-    public PathCalculationController(GameMap map, MapRenderer renderer, MapInteractionHandler handler) {
-        this.map = map;
-        this.renderer = renderer;
+    private final Map<PathAlgorithm, PathFindingUseCase> finders = new EnumMap<>(PathAlgorithm.class);
+
+    @Getter
+    private final RouteCache routeCache = new RouteCache(ROUTE_CACHE_BYTES);
+
+    // Null unless the application was started with --stats=<file>.
+    private final SearchStatisticsLog statisticsLog;
+
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "path-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SearchTask currentSearch;
+
+    public PathCalculationController(GameMap map, MapInteractionHandler handler, Path statisticsFile) {
         this.interactionHandler = handler;
+        this.statisticsLog = statisticsFile != null ? new SearchStatisticsLog(statisticsFile) : null;
+        mirror(map);
+    }
+
+    private void mirror(GameMap newMap) {
+        if (map != null) map.removeTileChangeListener(mirror);
+        map = newMap;
+        GameMap copy = newMap.copy();
+        newMap.addTileChangeListener(mirror);
+        onSearchThread(() -> searchMap = copy);
+    }
+
+    private void onSearchThread(Runnable task) {
+        if (!searchExecutor.isShutdown()) searchExecutor.execute(task);
     }
 
     public void setAlgorithm(PathAlgorithm algo) {
+        cancelSearch();
         currentPath.clear();
-        modifiedCells.clear();
         this.currentAlgorithm = algo;
     }
 
-    public void calculateAndAnimate(MarioAnimator animator, Label timerLabel) {
+    public void calculateAndAnimate(MarioAnimator animator, Label timerLabel, Label statisticsLabel) {
+        cancelSearch();
         Coordinate start = interactionHandler.getStartCoordinate();
         Coordinate end = interactionHandler.getEndCoordinate();
 
         if (start == null || end == null) return;
 
-        PathFindingUseCase algo = switch (currentAlgorithm) {
-            case DIJKSTRA -> new DijkstraPathFinder();
-            case ASTAR -> new AStarPathFinder();
-        };
+        RouteCache.RouteKey key = new RouteCache.RouteKey(map.getVersion(), start, end, currentAlgorithm);
 
         long startTime = System.nanoTime();
-        List<Coordinate> path = algo.execute(map, start, end);
-        long endTime = System.nanoTime();
+        List<Coordinate> cachedPath = routeCache.get(key);
+        if (cachedPath != null) {
+            statisticsLabel.setText("Statistiques : résultat en cache");
+            showResult(cachedPath, System.nanoTime() - startTime, true, animator, timerLabel);
+            return;
+        }
 
-        double elapsedMs = (endTime - startTime) / 1_000_000.0;
-        timerLabel.setText("Temps d'exécution : " + String.format("%.2f", elapsedMs) + " ms");
+        PathAlgorithm algorithm = currentAlgorithm;
+        PathFindingUseCase algo = finders.computeIfAbsent(algorithm, PathFinderFactory::create);
+        SearchTask task = new SearchTask(timerLabel);
+        currentSearch = task;
+        timerLabel.setText("Recherche en cours...");
+
+        searchExecutor.execute(() -> {
+            SearchStatistics statistics = task.statistics;
+            GameMap searchedMap = searchMap;
+            try {
+                List<Coordinate> path = statistics.measure(() -> algo.execute(searchedMap, start, end, task));
+                String logError = null;
+                if (statisticsLog != null) {
+                    try {
+                        statisticsLog.append(algorithm.name(), searchedMap, start, end, path, statistics);
+                    } catch (IOException e) {
+                        logError = e.getMessage();
+                    }
+                }
+                String statisticsText = describe(statistics) + (logError == null ? "" : "\nÉchec de l'enregistrement : " + logError);
+                Platform.runLater(() -> {
+                    if (task != currentSearch) return;
+                    currentSearch = null;
+                    routeCache.put(key, path);
+                    statisticsLabel.setText(statisticsText);
+                    showResult(path, statistics.getWallNanos(), false, animator, timerLabel);
+                });
+            } catch (CancellationException ignored) {
+            } catch (RuntimeException e) {
+                Platform.runLater(() -> {
+                    if (task != currentSearch) return;
+                    currentSearch = null;
+                    timerLabel.setText("Échec de la recherche : " + e.getMessage());
+                });
+            }
+        });
+    }
+
+    /** Abandons the search in flight, if any; its result will never be shown. */
+    public void cancelSearch() {
+        if (currentSearch != null) {
+            currentSearch.cancelled = true;
+            currentSearch.label.setText("Recherche annulée");
+            currentSearch = null;
+        }
+    }
+
+    private static String describe(SearchStatistics statistics) {
+        return String.format("Nœuds explorés : %,d%nFile : %,d ajouts, %,d retraits (%,d obsolètes)%nTaille max. de la file : %,d%nMémoire allouée : %,d Ko",
+                statistics.getExpandedNodes(), statistics.getPushes(), statistics.getPops(), statistics.getStalePops(),
+                statistics.getPeakOpenSet(), statistics.getAllocatedBytes() / 1024);
+    }
+
+    private void showResult(List<Coordinate> path, long elapsedNanos, boolean cached, MarioAnimator animator, Label timerLabel) {
+        double elapsedMs = elapsedNanos / 1_000_000.0;
+        timerLabel.setText("Temps d'exécution : " + String.format("%.2f", elapsedMs) + " ms" + (cached ? " (cache)" : ""));
 
         if (path == null || path.isEmpty()) {
             showErrorWhenNoPathAvailable();
@@ -69,12 +187,8 @@ public class PathCalculationController {
 
         currentPath.clear();
         currentPath.addAll(path);
-        modifiedCells.clear();
 
-        animator.animate(currentPath, modifiedCells, () -> {
-            renderer.render();
-            animator.getOnMarioPositionUpdate().accept(null);
-        });
+        animator.animate(currentPath, () -> {});
     }
 
     private static void showErrorWhenNoPathAvailable() {
@@ -88,10 +202,45 @@ public class PathCalculationController {
     }
 
     public void updateMap(GameMap newMap) {
-        this.map = newMap;
+        cancelSearch();
+        mirror(newMap);
+        routeCache.clear();
     }
 
-    public void updateRenderer(MapRenderer newRenderer) {
-        this.renderer = newRenderer;
+    public void shutdown() {
+        cancelSearch();
+        map.removeTileChangeListener(mirror);
+        searchExecutor.shutdownNow();
+    }
+
+    // Streams the expanded-node count to the label, at most one pending update at a time.
+    private static final class SearchTask implements SearchMonitor {
+
+        private final Label label;
+        private final SearchStatistics statistics = new SearchStatistics();
+        private final AtomicBoolean updatePending = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private volatile long expandedNodes;
+
+        SearchTask(Label label) {
+            this.label = label;
+        }
+
+        @Override
+        public void progress(long expandedNodes) {
+            if (cancelled) throw new CancellationException();
+            this.expandedNodes = expandedNodes;
+            if (updatePending.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    updatePending.set(false);
+                    if (!cancelled) label.setText(String.format("Recherche en cours : %,d nœuds explorés", this.expandedNodes));
+                });
+            }
+        }
+
+        @Override
+        public SearchStatistics statistics() {
+            return statistics;
+        }
     }
-}
\ No newline at end of file
+}
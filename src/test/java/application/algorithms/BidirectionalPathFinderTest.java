@@ -0,0 +1,46 @@
+package application.algorithms;
+
+import domain.Coordinate;
+import domain.GameMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BidirectionalPathFinderTest {
+
+    private static final int QUERIES_PER_MAP = 40;
+
+    private final DijkstraPathFinder dijkstra = new DijkstraPathFinder();
+
+    @Test
+    void bidirectionalDijkstraMatchesDijkstraCost() {
+        assertSameCosts(new BidirectionalPathFinder(false));
+    }
+
+    @Test
+    void bidirectionalAStarMatchesDijkstraCost() {
+        assertSameCosts(new BidirectionalPathFinder(true));
+    }
+
+    private void assertSameCosts(BidirectionalPathFinder finder) {
+        int[][] sizes = {{6, 6}, {3, 30}, {31, 17}, {50, 50}};
+        for (long seed = 0; seed < 20; seed++) {
+            for (int[] size : sizes) {
+                GameMap map = TestMaps.mixed(seed, size[0], size[1], seed % 2 == 0);
+                Random random = new Random(seed);
+                for (int q = 0; q < QUERIES_PER_MAP; q++) {
+                    // Every eighth query goes from a tile to itself, the first case the stopping rule meets.
+                    Coordinate start = TestMaps.walkableTile(map, random);
+                    Coordinate goal = q % 8 == 0 ? start : TestMaps.walkableTile(map, random);
+
+                    int expected = TestMaps.cost(map, dijkstra.execute(map, start, goal), start, goal);
+                    int actual = TestMaps.cost(map, finder.execute(map, start, goal), start, goal);
+                    long s = seed;
+                    assertEquals(expected, actual, () -> "seed " + s + ", " + map.getWidth() + "x" + map.getHeight() + ", " + start + " -> " + goal);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package application.algorithms;
+
+import application.components.MapGenerator;
+import application.enums.TerrainStyle;
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BitParallelBfsTest {
+
+    // Widths and heights around the 8-tile block and 64-tile word boundaries.
+    private static final int[] WIDTHS = {1, 2, 7, 8, 9, 63, 64, 65, 127, 128, 129};
+    private static final int[] HEIGHTS = {1, 3, 7, 8, 9, 13, 17, 66};
+    private static final MapElementType[] EDITS = {MapElementType.HERBE, MapElementType.EAU, MapElementType.ARBRE};
+
+    @Test
+    void matchesAQueueBfsOnMixedTerrain() {
+        long seed = 0;
+        for (int width : WIDTHS) {
+            for (int height : HEIGHTS) {
+                seed++;
+                assertMatchesFromRandomSources(TestMaps.mixed(seed, width, height, false), new Random(seed), "mixed " + width + "x" + height);
+                assertMatchesFromRandomSources(TestMaps.mixed(seed, width, height, true), new Random(seed), "bordered " + width + "x" + height);
+            }
+        }
+    }
+
+    @Test
+    void matchesAQueueBfsOnGeneratedTerrain() {
+        for (TerrainStyle style : TerrainStyle.values()) {
+            for (int[] size : new int[][]{{65, 63}, {129, 71}, {200, 9}}) {
+                GameMap map = new GameMap(size[0], size[1]);
+                MapGenerator.generate(map, 25L + size[0], style);
+                assertMatchesFromRandomSources(map, new Random(size[0]), style + " " + size[0] + "x" + size[1]);
+            }
+        }
+    }
+
+    @Test
+    void matchesAQueueBfsAfterEditsToTheMask() {
+        Random random = new Random(7);
+        for (int width : new int[]{63, 64, 65, 130}) {
+            GameMap map = TestMaps.mixed(width, width, 37, false);
+            map.getWalkability();
+            for (int round = 0; round < 10; round++) {
+                for (int edit = 0; edit < 40; edit++) {
+                    map.setType(random.nextInt(width), random.nextInt(37), EDITS[random.nextInt(EDITS.length)]);
+                }
+                assertMatchesFromRandomSources(map, random, "edited " + width + "x37, round " + round);
+            }
+        }
+    }
+
+    // A single corridor winding down the map: long distances, and the flood has to turn at every row.
+    @Test
+    void followsAWindingCorridor() {
+        for (int width : new int[]{2, 9, 64, 65, 129}) {
+            GameMap map = new GameMap(width, 23);
+            for (int y = 1; y < map.getHeight(); y += 2) {
+                int gap = (y / 2) % 2 == 0 ? width - 1 : 0;
+                for (int x = 0; x < width; x++) {
+                    if (x != gap) map.setType(x, y, MapElementType.ARBRE);
+                }
+            }
+            assertMatches(map, new Coordinate(0, 0), "corridor " + width);
+            assertMatches(map, new Coordinate(width - 1, map.getHeight() - 1), "corridor " + width);
+        }
+    }
+
+    private static void assertMatchesFromRandomSources(GameMap map, Random random, String name) {
+        assertMatches(map, new Coordinate(0, 0), name);
+        assertMatches(map, new Coordinate(map.getWidth() - 1, map.getHeight() - 1), name);
+        for (int i = 0; i < 6; i++) {
+            assertMatches(map, new Coordinate(random.nextInt(map.getWidth()), random.nextInt(map.getHeight())), name);
+        }
+    }
+
+    private static void assertMatches(GameMap map, Coordinate source, String name) {
+        String context = name + " from " + source;
+        int[] expected = queueBfs(map, source);
+        DistanceField field = BitParallelBfs.distances(map, source);
+        ReachableSet reached = BitParallelBfs.reachable(map, source);
+
+        int reachedCount = 0;
+        int maxSteps = 0;
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                int steps = expected[map.indexOf(x, y)];
+                if (steps != DistanceField.UNREACHABLE) {
+                    reachedCount++;
+                    maxSteps = Math.max(maxSteps, steps);
+                }
+                int cx = x;
+                int cy = y;
+                assertEquals(steps, field.steps(x, y), () -> context + ": steps to " + cx + "," + cy);
+                assertEquals(steps != DistanceField.UNREACHABLE, reached.contains(x, y), context + ": reachable " + x + "," + y);
+            }
+        }
+        assertEquals(reachedCount, field.reachedCount(), context + ": reached count");
+        assertEquals(maxSteps, field.maxSteps(), context + ": max steps");
+        assertEquals(reachedCount, reached.size(), context + ": reachable size");
+    }
+
+    private static int[] queueBfs(GameMap map, Coordinate source) {
+        int width = map.getWidth();
+        int[] steps = new int[map.getTileCount()];
+        Arrays.fill(steps, DistanceField.UNREACHABLE);
+        int start = map.indexOf(source.x(), source.y());
+        if (!map.isWalkable(source.x(), source.y())) return steps;
+
+        int[] queue = new int[steps.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        steps[start] = 0;
+        while (head < tail) {
+            int tile = queue[head++];
+            int x = map.xOf(tile);
+            int y = map.yOf(tile);
+            int[] neighbors = {
+                    y > 0 ? tile - width : -1,
+                    y < map.getHeight() - 1 ? tile + width : -1,
+                    x > 0 ? tile - 1 : -1,
+                    x < width - 1 ? tile + 1 : -1
+            };
+            for (int neighbor : neighbors) {
+                if (neighbor >= 0 && steps[neighbor] == DistanceField.UNREACHABLE && map.getTraversalCost(neighbor) > 0) {
+                    steps[neighbor] = steps[tile] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,67 @@
+package application.algorithms;
+
+import application.interfaces.SearchMonitor;
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DStarLitePlannerTest {
+
+    private static final MapElementType[] EDITS = {MapElementType.HERBE, MapElementType.EAU, MapElementType.ARBRE, MapElementType.NOEUD};
+
+    private final AStarPathFinder astar = new AStarPathFinder();
+
+    @Test
+    void replanningAfterEditsMatchesAFreshSearch() {
+        for (long seed = 0; seed < 8; seed++) {
+            Random random = new Random(seed);
+            GameMap map = TestMaps.mixed(seed, 30 + random.nextInt(20), 20 + random.nextInt(20), seed % 2 == 0);
+            DStarLitePlanner planner = new DStarLitePlanner(map);
+            Coordinate goal = TestMaps.walkableTile(map, random);
+            Coordinate start = TestMaps.walkableTile(map, random);
+
+            for (int step = 0; step < 200; step++) {
+                // A few edits per step are repaired in place; a burst past the threshold starts the search over.
+                int edits = step % 50 == 49 ? map.getTileCount() / 4 : random.nextInt(4);
+                for (int e = 0; e < edits; e++) {
+                    map.setType(random.nextInt(map.getWidth()), random.nextInt(map.getHeight()), EDITS[random.nextInt(EDITS.length)]);
+                }
+                if (step % 40 == 39) goal = TestMaps.walkableTile(map, random);
+
+                // Moving the start shifts the key modifier instead of resetting the search.
+                List<Coordinate> path = planner.findPath(start, goal, SearchMonitor.NONE);
+                assertSameCost(map, start, goal, path, "seed " + seed + ", step " + step);
+                start = path != null && path.size() > 1 ? path.get(Math.min(path.size() - 1, 1 + random.nextInt(3))) : TestMaps.walkableTile(map, random);
+            }
+            planner.detach();
+        }
+    }
+
+    @Test
+    void reloadingTheMapStartsTheSearchOver() {
+        GameMap map = TestMaps.mixed(4, 25, 25, false);
+        DStarLitePlanner planner = new DStarLitePlanner(map);
+        Random random = new Random(4);
+        Coordinate start = TestMaps.walkableTile(map, random);
+        Coordinate goal = TestMaps.walkableTile(map, random);
+        planner.findPath(start, goal, SearchMonitor.NONE);
+
+        map.fillRows((y, row) -> {
+            for (int x = 0; x < row.length; x++) row[x] = (byte) (x % 7 == 3 && y != 12 ? MapElementType.ARBRE : MapElementType.HERBE).ordinal();
+        }, false);
+        assertSameCost(map, start, goal, planner.findPath(start, goal, SearchMonitor.NONE), "after reload");
+    }
+
+    private void assertSameCost(GameMap map, Coordinate start, Coordinate goal, List<Coordinate> path, String context) {
+        boolean reachable = map.isWalkable(start.x(), start.y()) && map.isWalkable(goal.x(), goal.y());
+        int expected = reachable ? TestMaps.cost(map, astar.execute(map, start, goal), start, goal) : -1;
+        int actual = reachable ? TestMaps.cost(map, path, start, goal) : (path == null ? -1 : -2);
+        assertEquals(expected, actual, () -> context + ", " + start + " -> " + goal);
+    }
+}
@@ -0,0 +1,47 @@
+package application.algorithms;
+
+import domain.Coordinate;
+import domain.GameMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JumpPointSearchPathFinderTest {
+
+    private static final int QUERIES_PER_MAP = 40;
+
+    private final JumpPointSearchPathFinder jps = new JumpPointSearchPathFinder();
+    private final DijkstraPathFinder dijkstra = new DijkstraPathFinder();
+
+    @Test
+    void matchesDijkstraCostOnMixedTerrain() {
+        int[][] sizes = {{5, 5}, {17, 9}, {1, 40}, {40, 40}, {64, 33}};
+        for (long seed = 0; seed < 20; seed++) {
+            for (int[] size : sizes) {
+                assertSameCosts(TestMaps.mixed(seed, size[0], size[1], false), seed);
+                assertSameCosts(TestMaps.mixed(seed, size[0], size[1], true), seed);
+            }
+        }
+    }
+
+    @Test
+    void findsTheTrivialPathFromATileToItself() {
+        GameMap map = TestMaps.mixed(3, 12, 12, false);
+        Coordinate tile = TestMaps.walkableTile(map, new Random(3));
+        assertEquals(0, TestMaps.cost(map, jps.execute(map, tile, tile), tile, tile));
+    }
+
+    private void assertSameCosts(GameMap map, long seed) {
+        Random random = new Random(seed);
+        for (int q = 0; q < QUERIES_PER_MAP; q++) {
+            Coordinate start = new Coordinate(random.nextInt(map.getWidth()), random.nextInt(map.getHeight()));
+            Coordinate goal = new Coordinate(random.nextInt(map.getWidth()), random.nextInt(map.getHeight()));
+
+            int expected = TestMaps.cost(map, dijkstra.execute(map, start, goal), start, goal);
+            int actual = TestMaps.cost(map, jps.execute(map, start, goal), start, goal);
+            assertEquals(expected, actual, () -> "seed " + seed + ", " + map.getWidth() + "x" + map.getHeight() + ", " + start + " -> " + goal);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package application.algorithms;
+
+import domain.Coordinate;
+import domain.GameMap;
+import domain.MapElementType;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeded maps mixing grass, water, trees and cheaper road tiles, so that
+ * searches cross cost boundaries, and helpers to check the paths found.
+ */
+final class TestMaps {
+
+    private static final MapElementType[] TERRAIN = {
+            MapElementType.HERBE, MapElementType.HERBE, MapElementType.HERBE, MapElementType.HERBE,
+            MapElementType.EAU, MapElementType.EAU,
+            MapElementType.ARBRE, MapElementType.ARBRE,
+            MapElementType.NOEUD
+    };
+
+    private TestMaps() {
+    }
+
+    /** A map of random terrain; with {@code blockedBorder} the outer ring is all trees. */
+    static GameMap mixed(long seed, int width, int height, boolean blockedBorder) {
+        GameMap map = new GameMap(width, height);
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                map.setType(x, y, blockedBorder && border ? MapElementType.ARBRE : TERRAIN[random.nextInt(TERRAIN.length)]);
+            }
+        }
+        return map;
+    }
+
+    static Coordinate walkableTile(GameMap map, Random random) {
+        while (true) {
+            Coordinate tile = new Coordinate(random.nextInt(map.getWidth()), random.nextInt(map.getHeight()));
+            if (map.isWalkable(tile.x(), tile.y())) return tile;
+        }
+    }
+
+    /**
+     * Cost of a path, checking that it runs from start to goal in orthogonal
+     * steps over walkable tiles; -1 when there is no path.
+     */
+    static int cost(GameMap map, List<Coordinate> path, Coordinate start, Coordinate goal) {
+        if (path == null) return -1;
+        assertEquals(start, path.getFirst(), "path must begin at the start");
+        assertEquals(goal, path.getLast(), "path must end at the goal");
+
+        int cost = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Coordinate from = path.get(i - 1);
+            Coordinate to = path.get(i);
+            assertEquals(1, Math.abs(from.x() - to.x()) + Math.abs(from.y() - to.y()), "steps must be orthogonal: " + from + " -> " + to);
+            assertTrue(map.isWalkable(to.x(), to.y()), "path crosses a blocked tile at " + to);
+            cost += map.getTraversalCost(map.indexOf(to.x(), to.y()));
+        }
+        return cost;
+    }
+}
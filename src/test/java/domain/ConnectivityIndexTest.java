@@ -0,0 +1,83 @@
+package domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectivityIndexTest {
+
+    private static final MapElementType[] EDITS = {MapElementType.HERBE, MapElementType.EAU, MapElementType.ARBRE};
+
+    @Test
+    void incrementalEditsMatchAFullRelabel() {
+        for (long seed = 0; seed < 10; seed++) {
+            Random random = new Random(seed);
+            int width = 3 + random.nextInt(30);
+            int height = 3 + random.nextInt(30);
+            GameMap map = new GameMap(width, height);
+            for (int i = 0; i < map.getTileCount(); i++) {
+                map.setType(map.xOf(i), map.yOf(i), EDITS[random.nextInt(EDITS.length)]);
+            }
+            ConnectivityIndex incremental = map.getConnectivity();
+
+            for (int edit = 1; edit <= 2000; edit++) {
+                map.setType(random.nextInt(width), random.nextInt(height), EDITS[random.nextInt(EDITS.length)]);
+                if (edit % 50 == 0) assertSamePartition(map, incremental, "seed " + seed + ", edit " + edit);
+            }
+        }
+    }
+
+    @Test
+    void pairsAgreeWithAFullRelabelAfterEveryEdit() {
+        Random random = new Random(99);
+        GameMap map = new GameMap(16, 12);
+        ConnectivityIndex incremental = map.getConnectivity();
+
+        for (int edit = 0; edit < 1500; edit++) {
+            // Mostly blocking tiles, so that regions keep splitting and merging.
+            MapElementType type = random.nextInt(3) == 0 ? MapElementType.HERBE : MapElementType.ARBRE;
+            map.setType(random.nextInt(16), random.nextInt(12), type);
+
+            ConnectivityIndex fresh = new ConnectivityIndex(map);
+            for (int q = 0; q < 20; q++) {
+                int a = random.nextInt(map.getTileCount());
+                int b = random.nextInt(map.getTileCount());
+                assertEquals(fresh.areConnected(a, b), incremental.areConnected(a, b), "edit " + edit + ", tiles " + a + " and " + b);
+            }
+        }
+    }
+
+    @Test
+    void reloadRelabelsTheWholeMap() {
+        GameMap map = new GameMap(10, 10);
+        ConnectivityIndex incremental = map.getConnectivity();
+        Random random = new Random(5);
+        map.fillRows((y, row) -> {
+            for (int x = 0; x < row.length; x++) row[x] = (byte) EDITS[Math.floorMod(x * 31 + y * 17 + random.nextInt(2), 3)].ordinal();
+        }, false);
+        assertSamePartition(map, incremental, "after reload");
+    }
+
+    // Both indexes must block the same tiles and group the open ones into the same regions.
+    private static void assertSamePartition(GameMap map, ConnectivityIndex incremental, String context) {
+        ConnectivityIndex fresh = new ConnectivityIndex(map);
+        Map<Integer, Integer> freshToIncremental = new HashMap<>();
+        Map<Integer, Integer> incrementalToFresh = new HashMap<>();
+        for (int tile = 0; tile < map.getTileCount(); tile++) {
+            int expected = fresh.componentOf(tile);
+            int actual = incremental.componentOf(tile);
+            if (expected == ConnectivityIndex.BLOCKED || actual == ConnectivityIndex.BLOCKED) {
+                assertEquals(expected, actual, context + ", tile " + tile);
+                continue;
+            }
+            int mappedRegion = freshToIncremental.computeIfAbsent(expected, _ -> actual);
+            int mappedBack = incrementalToFresh.computeIfAbsent(actual, _ -> expected);
+            assertEquals(actual, mappedRegion, context + ", tile " + tile + " joins another region");
+            assertEquals(expected, mappedBack, context + ", tile " + tile + " merges two regions");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package infrastructure;
+
+import domain.GameMap;
+import domain.MapElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryMapFileTest {
+
+    private static final MapElementType[] TYPES = MapElementType.values();
+    private static final int HEADER_SIZE = 24;
+    private static final int[][] SIZES = {{1, 1}, {3, 3}, {5, 7}, {2, 4}, {17, 1}, {1, 17}, {64, 33}};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void packedFilesReadBackEveryTile() throws IOException {
+        Random random = new Random(16);
+        for (int[] size : SIZES) {
+            GameMap map = new GameMap(size[0], size[1]);
+            for (int i = 0; i < map.getTileCount(); i++) {
+                map.setType(map.xOf(i), map.yOf(i), TYPES[random.nextInt(TYPES.length)]);
+            }
+
+            // Random tiles do not compress, so both calls write packed nibbles.
+            for (boolean compress : new boolean[]{false, true}) {
+                Path file = directory.resolve("packed-" + size[0] + "x" + size[1] + "-" + compress + BinaryMapFile.EXTENSION);
+                BinaryMapFile.write(map, file, compress);
+                assertEquals(HEADER_SIZE + (map.getTileCount() + 1L) / 2, Files.size(file), file.toString());
+                assertSameTiles(map, BinaryMapFile.read(file), file.toString());
+            }
+        }
+    }
+
+    @Test
+    void runLengthFilesReadBackEveryTile() throws IOException {
+        Random random = new Random(17);
+        // Runs longer than 127 and 16383 tiles need two- and three-byte lengths, and most cross rows.
+        int[][] sizes = {{7, 9}, {300, 200}, {1, 70_000}, {129, 129}};
+        for (int[] size : sizes) {
+            GameMap map = new GameMap(size[0], size[1]);
+            for (int i = 0; i < map.getTileCount() / 500 + 2; i++) {
+                map.setType(random.nextInt(size[0]), random.nextInt(size[1]), TYPES[random.nextInt(TYPES.length)]);
+            }
+            map.setType(size[0] - 1, size[1] - 1, MapElementType.MARIO);
+
+            Path file = directory.resolve("rle-" + size[0] + "x" + size[1] + BinaryMapFile.EXTENSION);
+            BinaryMapFile.write(map, file, true);
+            assertTrue(Files.size(file) < HEADER_SIZE + (map.getTileCount() + 1L) / 2, file + " was not run-length encoded");
+            assertSameTiles(map, BinaryMapFile.read(file), file.toString());
+        }
+    }
+
+    @Test
+    void truncatedFilesAreRejected() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            GameMap map = new GameMap(40, 40);
+            map.setType(3, 5, MapElementType.EAU);
+            Path file = directory.resolve("truncated-" + compress + BinaryMapFile.EXTENSION);
+            BinaryMapFile.write(map, file, compress);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - 1);
+            }
+            assertThrows(IOException.class, () -> BinaryMapFile.read(file));
+        }
+    }
+
+    private static void assertSameTiles(GameMap expected, GameMap actual, String message) {
+        assertEquals(expected.getWidth(), actual.getWidth(), message);
+        assertEquals(expected.getHeight(), actual.getHeight(), message);
+        for (int i = 0; i < expected.getTileCount(); i++) {
+            assertEquals(expected.getType(i), actual.getType(i), message + ", tile " + i);
+        }
+    }
+}
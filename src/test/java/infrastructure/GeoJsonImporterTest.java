@@ -0,0 +1,97 @@
+package infrastructure;
+
+import domain.GameMap;
+import domain.MapElementType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoJsonImporterTest {
+
+    private static final MapElementType[] TYPES = MapElementType.values();
+    private static final int[][] SIZES = {{1, 1}, {3, 3}, {5, 7}, {1, 30}, {30, 1}, {40, 25}};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyMergeModeReadsBack() throws IOException {
+        Random random = new Random(17);
+        for (int[] size : SIZES) {
+            GameMap map = new GameMap(size[0], size[1]);
+            // Few types, so merged exports get runs of several tiles.
+            for (int i = 0; i < map.getTileCount(); i++) {
+                map.setType(map.xOf(i), map.yOf(i), TYPES[random.nextInt(3)]);
+            }
+            map.setType(random.nextInt(size[0]), random.nextInt(size[1]), MapElementType.START);
+
+            for (GeoJsonWriter.Merge merge : GeoJsonWriter.Merge.values()) {
+                for (boolean pretty : new boolean[]{false, true}) {
+                    Path file = directory.resolve(size[0] + "x" + size[1] + "-" + merge + "-" + pretty + ".geojson");
+                    GeoJsonWriter.write(map, file, pretty, merge);
+                    assertSameTiles(map, GeoJsonImporter.read(file), file.getFileName().toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void mapSizeIsMeasuredWithoutBbox() throws IOException {
+        Path file = write("no-bbox.geojson", """
+                {"type": "FeatureCollection", "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [2, 1]}, "properties": {"type": "EAU"}},
+                  {"type": "Feature", "geometry": null, "properties": {"type": "ARBRE", "x": 0, "y": 0, "length": 2}}
+                ]}
+                """);
+
+        GameMap map = GeoJsonImporter.read(file);
+
+        assertEquals(3, map.getWidth());
+        assertEquals(2, map.getHeight());
+        assertEquals(MapElementType.ARBRE, map.getType(0, 0));
+        assertEquals(MapElementType.ARBRE, map.getType(1, 0));
+        assertEquals(MapElementType.EAU, map.getType(2, 1));
+        assertEquals(MapElementType.HERBE, map.getType(2, 0));
+    }
+
+    @Test
+    void bboxNotAtTheOriginIsRejected() throws IOException {
+        Path file = write("offset.geojson", """
+                {"type": "FeatureCollection", "bbox": [1, 1, 3, 3], "features": [
+                  {"type": "Feature", "geometry": {"type": "Point", "coordinates": [1, 1]}, "properties": {"type": "EAU"}}
+                ]}
+                """);
+
+        assertThrows(IOException.class, () -> GeoJsonImporter.read(file));
+    }
+
+    @Test
+    void featuresOutsideTheBboxAreRejected() throws IOException {
+        Path file = write("outside.geojson", """
+                {"type": "FeatureCollection", "bbox": [0, 0, 2, 2], "features": [
+                  {"type": "Feature", "geometry": null, "properties": {"type": "EAU", "x": 2, "y": 0, "length": 2}}
+                ]}
+                """);
+
+        assertThrows(IOException.class, () -> GeoJsonImporter.read(file));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static void assertSameTiles(GameMap expected, GameMap actual, String message) {
+        assertEquals(expected.getWidth(), actual.getWidth(), message);
+        assertEquals(expected.getHeight(), actual.getHeight(), message);
+        for (int i = 0; i < expected.getTileCount(); i++) {
+            assertEquals(expected.getType(i), actual.getType(i), message + ", tile " + i);
+        }
+    }
+}